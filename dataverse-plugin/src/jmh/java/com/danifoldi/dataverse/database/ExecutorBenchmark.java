@@ -0,0 +1,110 @@
+package com.danifoldi.dataverse.database;
+
+import com.danifoldi.dataverse.database.h2.H2DatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// a join storm against an embedded database with a small connection pool, once on the pooled lanes and once on virtual threads
+// the virtual case needs a java 21 runtime, run it with ./gradlew :dataverse-plugin:jmh -PjavaToolchain=21
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutorBenchmark {
+
+    private static final int PLAYERS = 1000;
+    private static final int CALLS = 2000;
+
+    public static class Profile {
+
+        String name = "";
+        int kills;
+        long lastSeen;
+    }
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private H2DatabaseEngine databaseEngine;
+    private EngineDataVerse<Profile> dataverse;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        if (virtual && Runtime.version().feature() < 21) {
+
+            // the engine would quietly fall back to the pools and both runs would measure the same thing
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, run with -PjavaToolchain=21");
+        }
+
+        TranslationEngine translationEngine = new TranslationEngine();
+        translationEngine.setupStandard();
+
+        Map<String, String> config = new HashMap<>();
+        config.put("h2_mode", "memory");
+        config.put("h2_file_name", "benchmark");
+        config.put("h2_pool_size", String.valueOf(poolSize));
+        config.put("executor_virtual_threads", String.valueOf(virtual));
+
+        databaseEngine = new H2DatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(config, translationEngine);
+        dataverse = new EngineDataVerse<>(databaseEngine, "benchmark", Profile::new);
+
+        for (int i = 0; i < PLAYERS; i++) {
+
+            dataverse.createOrUpdate(key(i), profile(i)).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        databaseEngine.close();
+    }
+
+    // every player loads their profile and writes it back at once, far more calls than connections
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void joinStorm() {
+
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+
+            calls[i] = i % 2 == 0 ? dataverse.get(key(i)) : dataverse.update(key(i), profile(i));
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+
+    private static String key(int i) {
+
+        return "player%d".formatted(i % PLAYERS);
+    }
+
+    private static Profile profile(int i) {
+
+        Profile profile = new Profile();
+        profile.name = key(i);
+        profile.kills = i;
+        profile.lastSeen = System.currentTimeMillis();
+        return profile;
+    }
+}
@@ -1,9 +1,17 @@
 package com.danifoldi.dataverse;
 
 import com.danifoldi.dataverse.config.Config;
-import com.danifoldi.dataverse.database.mysql.MySQLDataVerse;
+import com.danifoldi.dataverse.database.EngineDataVerse;
+import com.danifoldi.dataverse.database.EngineMultiDataVerse;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.database.file.FileDatabaseEngine;
+import com.danifoldi.dataverse.database.h2.H2DatabaseEngine;
+import com.danifoldi.dataverse.database.mariadb.MariaDBDatabaseEngine;
+import com.danifoldi.dataverse.database.memory.MemoryDatabaseEngine;
+import com.danifoldi.dataverse.database.mongodb.MongoDatabaseEngine;
 import com.danifoldi.dataverse.database.mysql.MySQLDatabaseEngine;
-import com.danifoldi.dataverse.database.mysql.MySQLMultiDataVerse;
+import com.danifoldi.dataverse.database.redis.RedisDatabaseEngine;
+import com.danifoldi.dataverse.database.sqlite.SQLiteDatabaseEngine;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
@@ -32,16 +40,17 @@ public class DataverseProvider {
 
         return DataVerse.setup(config,
                 storageType -> switch (storageType) {
+                    case MEMORY -> new MemoryDatabaseEngine();
+                    case FILE -> new FileDatabaseEngine();
+                    case SQLITE -> new SQLiteDatabaseEngine();
+                    case H2 -> new H2DatabaseEngine();
                     case MYSQL -> new MySQLDatabaseEngine();
+                    case MARIADB -> new MariaDBDatabaseEngine();
+                    case MONGODB -> new MongoDatabaseEngine();
+                    case REDIS -> new RedisDatabaseEngine();
                     default -> null;
                 },
-                (storageType, databaseEngine, namespace, instanceSupplier) -> switch (storageType) {
-                    case MYSQL -> new MySQLDataVerse<>((MySQLDatabaseEngine)databaseEngine, namespace, instanceSupplier);
-                    default -> null;
-                },
-                (storageType, databaseEngine, namespace, instanceSupplier) -> switch (storageType) {
-                    case MYSQL -> new MySQLMultiDataVerse<>((MySQLDatabaseEngine)databaseEngine, namespace, instanceSupplier);
-                    default -> null;
-                });
+                (storageType, databaseEngine, namespace, instanceSupplier) -> new EngineDataVerse<>((NamespacedDatabaseEngine)databaseEngine, namespace, instanceSupplier),
+                (storageType, databaseEngine, namespace, instanceSupplier) -> new EngineMultiDataVerse<>((NamespacedDatabaseEngine)databaseEngine, namespace, instanceSupplier));
     }
 }
@@ -0,0 +1,285 @@
+package com.danifoldi.dataverse.database;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.Leaderboard;
+import com.danifoldi.dataverse.data.Leaderboards;
+import com.danifoldi.dataverse.data.NamespacedDataVerse;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class EngineDataVerse<T> extends NamespacedDataVerse<T> {
+
+    private static final int LOAD_PAGE_LENGTH = 1000;
+
+    private final @NotNull NamespacedDatabaseEngine databaseEngine;
+    private final @NotNull Leaderboards<T> leaderboards = new Leaderboards<>(ranked, field -> load(field, null, new ArrayList<>()));
+
+    public EngineDataVerse(final @NotNull NamespacedDatabaseEngine databaseEngine,
+                           final @NotNull String namespace,
+                           final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(namespace, instanceSupplier);
+        this.databaseEngine = databaseEngine;
+        setup();
+    }
+
+    private void setup() {
+
+        databaseEngine.createNamespace(namespace, fieldMap, indexes);
+        leaderboards.rebuild();
+    }
+
+    // read in keyset pages of only the key and the field, so a large namespace is never held in memory at once
+    private @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>> load(FieldSpec field, @Nullable String token, List<Pair<String, BigDecimal>> scores) {
+
+        return list(LOAD_PAGE_LENGTH, field, true, token, field).thenCompose(page -> {
+
+            page.values().forEach(pair -> {
+
+                BigDecimal score = Leaderboards.score(field, pair.getSecond());
+                if (score != null) {
+
+                    scores.add(Pair.of(pair.getFirst(), score));
+                }
+            });
+            return page.next() == null ? CompletableFuture.completedFuture(scores) : load(field, page.next(), scores);
+        });
+    }
+
+    @Override
+    public @NotNull Leaderboard leaderboard(@NotNull FieldSpec field) {
+
+        return leaderboards.get(field);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        Map<Leaderboard, BigDecimal> scores = leaderboards.scores(value, null);
+        return databaseEngine.create(namespace, key, value, fieldMap).thenApply(created -> {
+
+            if (created) {
+
+                leaderboards.index(key, scores);
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        return databaseEngine.exists(namespace, key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        return databaseEngine.get(namespace, key, instanceSupplier.get(), fieldMap);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        return databaseEngine.getAll(namespace, keys.stream().distinct().toList(), instanceSupplier, fieldMap);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        return databaseEngine.getOrCreate(namespace, key, value, instanceSupplier.get(), fieldMap).thenApply(stored -> {
+
+            leaderboards.index(key, leaderboards.scores(stored, null));
+            return stored;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        Map<Leaderboard, BigDecimal> scores = leaderboards.scores(value, null);
+        return databaseEngine.createOrUpdate(namespace, key, value, fieldMap).thenApply(written -> {
+
+            if (written) {
+
+                leaderboards.index(key, scores);
+            }
+            return written;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return databaseEngine.keys(namespace);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return databaseEngine.keys(namespace, pageCount, pageLength);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return databaseEngine.keys(namespace, pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull String>> keys(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return databaseEngine.keys(namespace, instanceSupplier, pageLength, sortKey, reverse, token);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return databaseEngine.query(namespace, null, instanceSupplier, projection(query.fields().toArray(FieldSpec[]::new), null), query);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query, @Nullable String token) {
+
+        return databaseEngine.query(namespace, instanceSupplier, projection(query.fields().toArray(FieldSpec[]::new), query.sortKey()), query, token);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Long> count(@Nullable Filter filter) {
+
+        return databaseEngine.count(namespace, null, filter, false);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return databaseEngine.aggregate(namespace, null, aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return databaseEngine.aggregateBy(namespace, null, aggregation, field, groupBy, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        Map<Leaderboard, BigDecimal> scores = leaderboards.scores(value, null);
+        return databaseEngine.update(namespace, key, value, fieldMap).thenApply(updated -> {
+
+            if (updated) {
+
+                leaderboards.index(key, scores);
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        // leaderboards of fields that were not written keep their score
+        Map<Leaderboard, BigDecimal> scores = leaderboards.scores(value, fields);
+        return databaseEngine.update(namespace, key, value, fields).thenApply(updated -> {
+
+            if (updated) {
+
+                leaderboards.index(key, scores);
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return databaseEngine.increment(namespace, key, field, delta).thenApply(incremented -> {
+
+            if (incremented) {
+
+                leaderboards.increment(key, field, delta);
+            }
+            return incremented;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        Map<Leaderboard, BigDecimal> scores = leaderboards.scores(value, null);
+        return databaseEngine.compareAndSet(namespace, key, expected, value, fieldMap).thenApply(swapped -> {
+
+            if (swapped) {
+
+                leaderboards.index(key, scores);
+            }
+            return swapped;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return databaseEngine.delete(namespace, key).thenApply(deleted -> {
+
+            if (deleted) {
+
+                leaderboards.index(key, leaderboards.removed());
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return databaseEngine.expire(namespace, key, expiry).thenApply(expired -> {
+
+            if (expired && expiry != null) {
+
+                if (expiry.isAfter(Instant.now())) {
+
+                    unrankOnceExpired(key, expiry);
+                } else {
+
+                    leaderboards.index(key, leaderboards.removed());
+                }
+            }
+            return expired;
+        });
+    }
+
+    // the key is looked up again once the expiry passed, a write meanwhile may have renewed it
+    private void unrankOnceExpired(String key, Instant expiry) {
+
+        if (leaderboards.isEmpty()) {
+
+            return;
+        }
+        long delay = Duration.between(Instant.now(), expiry).toMillis() + 1;
+        CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)).thenCompose(passed -> exists(key)).thenAccept(exists -> {
+
+            if (!exists) {
+
+                leaderboards.index(key, leaderboards.removed());
+            }
+        });
+    }
+}
\ No newline at end of file
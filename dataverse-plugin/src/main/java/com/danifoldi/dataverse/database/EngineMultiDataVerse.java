@@ -0,0 +1,196 @@
+package com.danifoldi.dataverse.database;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.Leaderboard;
+import com.danifoldi.dataverse.data.Leaderboards;
+import com.danifoldi.dataverse.data.NamespacedMultiDataVerse;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class EngineMultiDataVerse<T> extends NamespacedMultiDataVerse<T> {
+
+    private static final int LOAD_PAGE_LENGTH = 1000;
+
+    private final @NotNull NamespacedDatabaseEngine databaseEngine;
+    private final @NotNull Leaderboards<T> leaderboards = new Leaderboards<>(ranked, field -> load(field, 1, new HashMap<>()));
+
+    public EngineMultiDataVerse(final @NotNull NamespacedDatabaseEngine databaseEngine,
+                                final @NotNull String namespace,
+                                final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(namespace, instanceSupplier);
+        this.databaseEngine = databaseEngine;
+        setup();
+    }
+
+    private void setup() {
+
+        databaseEngine.createMultiNamespace(namespace, fieldMap, indexes);
+        leaderboards.rebuild();
+    }
+
+    // values come highest first, so the first one seen of a key is its best
+    private @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>> load(FieldSpec field, int pageCount, Map<String, BigDecimal> scores) {
+
+        return list(pageCount, LOAD_PAGE_LENGTH, field, true).thenCompose(page -> {
+
+            page.forEach(pair -> {
+
+                BigDecimal score = Leaderboards.score(field, pair.getSecond());
+                if (score != null) {
+
+                    scores.merge(pair.getFirst(), score, BigDecimal::max);
+                }
+            });
+            return page.size() < LOAD_PAGE_LENGTH
+                    ? CompletableFuture.completedFuture(scores.entrySet().stream().map(entry -> Pair.of(entry.getKey(), entry.getValue())).toList())
+                    : load(field, pageCount + 1, scores);
+        });
+    }
+
+    // which value of the key is now the best is only known after reading them back
+    private @NotNull CompletableFuture<@NotNull Boolean> rank(String key, boolean written) {
+
+        if (!written || leaderboards.isEmpty()) {
+
+            return CompletableFuture.completedFuture(written);
+        }
+        return get(key).thenApply(values -> {
+
+            leaderboards.index(key, leaderboards.best(values));
+            return true;
+        });
+    }
+
+    @Override
+    public @NotNull Leaderboard leaderboard(@NotNull FieldSpec field) {
+
+        return leaderboards.get(field);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> add(String key, T value) {
+
+        return databaseEngine.add(namespace, key, value, fieldMap).thenCompose(added -> rank(key, added));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> empty(String key) {
+
+        return databaseEngine.exists(namespace, key).thenApply(exists -> !exists);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return databaseEngine.keys(namespace);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return databaseEngine.keys(namespace, pageCount, pageLength);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return databaseEngine.keys(namespace, pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return databaseEngine.query(namespace, null, instanceSupplier, projection(query.fields().toArray(FieldSpec[]::new), null), query);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> query(String key, @NotNull Query query) {
+
+        return databaseEngine.query(namespace, key, instanceSupplier, projection(query.fields().toArray(FieldSpec[]::new), null), query).thenApply(values -> values.stream().map(Pair::getSecond).toList());
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Long> count(@Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return databaseEngine.count(namespace, key, filter, distinct);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+        return databaseEngine.aggregate(namespace, null, aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+        return databaseEngine.aggregate(namespace, key, aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+        return databaseEngine.aggregateBy(namespace, null, aggregation, field, groupBy, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+        return databaseEngine.aggregateBy(namespace, key, aggregation, field, groupBy, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key, T value) {
+
+        return databaseEngine.deleteWhere(namespace, key, value, fieldMap).thenCompose(deleted -> rank(key, deleted));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> deleteAll(String key) {
+
+        return databaseEngine.delete(namespace, key).thenApply(deleted -> {
+
+            if (deleted) {
+
+                leaderboards.index(key, leaderboards.removed());
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, T value, Instant expiry) {
+
+        return databaseEngine.expireWhere(namespace, key, value, expiry, fieldMap).thenCompose(expired -> {
+
+            if (expired && expiry != null && expiry.isAfter(Instant.now())) {
+
+                rankOnceExpired(key, expiry);
+                return CompletableFuture.completedFuture(true);
+            }
+            return rank(key, expired && expiry != null).thenApply(indexed -> expired);
+        });
+    }
+
+    // the best value of the key is read again once the expiry passed, the expired one is no longer among them
+    private void rankOnceExpired(String key, Instant expiry) {
+
+        if (leaderboards.isEmpty()) {
+
+            return;
+        }
+        long delay = Duration.between(Instant.now(), expiry).toMillis() + 1;
+        CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)).thenCompose(passed -> rank(key, true));
+    }
+}
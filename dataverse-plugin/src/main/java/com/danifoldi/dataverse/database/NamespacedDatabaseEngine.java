@@ -0,0 +1,74 @@
+package com.danifoldi.dataverse.database;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// the storage operations every engine offers, so one dataverse and one multi dataverse serve all of them
+public interface NamespacedDatabaseEngine extends DatabaseEngine {
+
+    void createNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes);
+
+    void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes);
+
+    <T> CompletableFuture<Boolean> create(String namespace, String key, T value, Map<String, FieldSpec> fieldMap);
+
+    <T> CompletableFuture<Boolean> add(String namespace, String key, T value, Map<String, FieldSpec> fieldMap);
+
+    CompletableFuture<Boolean> exists(String namespace, String key);
+
+    <T> CompletableFuture<T> get(String namespace, String key, T empty, Map<String, FieldSpec> fieldMap);
+
+    <T> CompletableFuture<Map<String, T>> getAll(String namespace, List<String> keys, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap);
+
+    CompletableFuture<List<String>> keys(String namespace);
+
+    CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength);
+
+    CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+
+    <T> CompletableFuture<Page<String>> keys(String namespace, Supplier<T> instanceSupplier, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token);
+
+    // every read of values goes through these, a key narrows a multi namespace down to the values stored under it
+    <T> CompletableFuture<List<Pair<String, T>>> query(String namespace, @Nullable String key, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query);
+
+    // the page length of the query is the length of every keyset page, its page count is not used
+    <T> CompletableFuture<Page<Pair<String, T>>> query(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query, @Nullable String token);
+
+    // distinct counts the keys holding a match instead of the matches
+    CompletableFuture<Long> count(String namespace, @Nullable String key, @Nullable Filter filter, boolean distinct);
+
+    CompletableFuture<@Nullable BigDecimal> aggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Filter filter);
+
+    CompletableFuture<Map<String, BigDecimal>> aggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Filter filter);
+
+    <T> CompletableFuture<Boolean> update(String namespace, String key, T value, Map<String, FieldSpec> fieldMap);
+
+    CompletableFuture<Boolean> increment(String namespace, String key, FieldSpec field, BigDecimal delta);
+
+    <T> CompletableFuture<Boolean> compareAndSet(String namespace, String key, T expected, T value, Map<String, FieldSpec> fieldMap);
+
+    <T> CompletableFuture<Boolean> createOrUpdate(String namespace, String key, T value, Map<String, FieldSpec> fieldMap);
+
+    <T> CompletableFuture<T> getOrCreate(String namespace, String key, T value, T empty, Map<String, FieldSpec> fieldMap);
+
+    CompletableFuture<Boolean> delete(String namespace, String key);
+
+    <T> CompletableFuture<Boolean> deleteWhere(String namespace, String key, T value, Map<String, FieldSpec> fieldMap);
+
+    CompletableFuture<Boolean> expire(String namespace, String key, Instant expiry);
+
+    <T> CompletableFuture<Boolean> expireWhere(String namespace, String key, T value, Instant expiry, Map<String, FieldSpec> fieldMap);
+}
@@ -0,0 +1,273 @@
+package com.danifoldi.dataverse.database.file;
+
+import com.danifoldi.dataverse.database.memory.MemoryDatabaseEngine;
+import com.danifoldi.dataverse.database.memory.Row;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+public class FileDatabaseEngine extends MemoryDatabaseEngine {
+
+    private final @NotNull Map<@NotNull String, @NotNull SegmentLog> logs = new ConcurrentHashMap<>();
+    private Path directory;
+    private long segmentSize;
+    private boolean syncWrites;
+    private double compactionThreshold;
+    private ScheduledExecutorService compactor;
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        this.directory = Path.of(config.getOrDefault("file_path", ".")).resolve(config.getOrDefault("file_directory", "data"));
+        this.segmentSize = Long.parseLong(config.getOrDefault("file_segment_size", "67108864"));
+        this.syncWrites = Boolean.parseBoolean(config.getOrDefault("file_sync_writes", "false"));
+        this.compactionThreshold = Double.parseDouble(config.getOrDefault("file_compaction_threshold", "0.5"));
+        long compactionInterval = Long.parseLong(config.getOrDefault("file_compaction_interval", "300"));
+
+        if (compactor != null) {
+
+            compactor.shutdownNow();
+        }
+
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+            Thread thread = new Thread(runnable, "DataVerse File Compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::sweep, compactionInterval, compactionInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+
+        if (compactor != null) {
+
+            compactor.shutdownNow();
+        }
+
+        logs.values().forEach(log -> {
+
+            try {
+
+                log.close();
+            } catch (IOException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        logs.clear();
+    }
+
+    @Override
+    protected void createNamespace(String namespace) {
+
+        log(namespace);
+    }
+
+    @Override
+    protected @NotNull Stream<@NotNull Row> rows(String namespace) {
+
+        SegmentLog log = log(namespace);
+        if (log == null) {
+
+            return Stream.empty();
+        }
+
+        try {
+
+            Instant now = Instant.now();
+            return log.readAll().stream().filter(row -> row.alive(now));
+        } catch (IOException e) {
+
+            logger.severe(e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    @Override
+    protected @NotNull List<@NotNull Row> rows(String namespace, String key) {
+
+        SegmentLog log = log(namespace);
+        if (log == null) {
+
+            return Collections.emptyList();
+        }
+
+        try {
+
+            Instant now = Instant.now();
+            return log.read(key).stream().filter(row -> row.alive(now)).toList();
+        } catch (IOException e) {
+
+            logger.severe(e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    protected boolean live(String namespace, String key) {
+
+        SegmentLog log = log(namespace);
+        if (log == null) {
+
+            return false;
+        }
+
+        try {
+
+            return log.alive(key, Instant.now());
+        } catch (IOException e) {
+
+            logger.severe(e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected boolean insert(String namespace, String key, Map<String, Object> values, boolean unique) {
+
+        Instant now = Instant.now();
+        return write(namespace, key, rows -> {
+
+            List<Row> live = new ArrayList<>(rows.stream().filter(row -> row.alive(now)).toList());
+            if (unique && !live.isEmpty()) {
+
+                return new SegmentLog.Update<>(null, false);
+            }
+            live.add(new Row(key, values, now, now, null));
+            return new SegmentLog.Update<>(live, true);
+        });
+    }
+
+    @Override
+    protected boolean replace(String namespace, String key, @Nullable Map<String, Object> expected, UnaryOperator<Map<String, Object>> change) {
+
+        Instant now = Instant.now();
+        Predicate<Row> matches = row -> row.alive(now) && (expected == null || row.sameValues(expected));
+        return write(namespace, key, rows -> {
+
+            if (rows.stream().noneMatch(matches)) {
+
+                return new SegmentLog.Update<>(null, false);
+            }
+            return new SegmentLog.Update<>(rows.stream().map(row -> matches.test(row) ? row.withValues(change.apply(row.values()), now) : row).toList(), true);
+        });
+    }
+
+    @Override
+    protected @Nullable Row upsert(String namespace, String key, Map<String, Object> values, boolean overwrite) {
+
+        Instant now = Instant.now();
+        return write(namespace, key, rows -> {
+
+            Row live = rows.stream().filter(row -> row.alive(now)).findFirst().orElse(null);
+            if (live != null && !overwrite) {
+
+                return new SegmentLog.Update<>(null, live);
+            }
+            Row row = live == null ? new Row(key, values, now, now, null) : live.withValues(values, now);
+            return new SegmentLog.Update<>(List.of(row), row);
+        }, null);
+    }
+
+    @Override
+    protected boolean remove(String namespace, String key, @Nullable Map<String, Object> values) {
+
+        Instant now = Instant.now();
+        return write(namespace, key, rows -> {
+
+            List<Row> kept = rows.stream().filter(row -> !(row.alive(now) && (values == null || row.sameValues(values)))).toList();
+            return kept.size() == rows.size() ? new SegmentLog.Update<>(null, false) : new SegmentLog.Update<>(kept, true);
+        });
+    }
+
+    @Override
+    protected boolean expire(String namespace, String key, @Nullable Map<String, Object> values, @Nullable Instant expiry) {
+
+        Instant now = Instant.now();
+        return write(namespace, key, rows -> {
+
+            if (rows.stream().noneMatch(row -> values == null || row.sameValues(values))) {
+
+                return new SegmentLog.Update<>(null, false);
+            }
+            return new SegmentLog.Update<>(rows.stream().map(row -> values == null || row.sameValues(values) ? row.withTtl(expiry, now) : row).toList(), true);
+        });
+    }
+
+    @Override
+    protected void sweep() {
+
+        Instant now = Instant.now();
+        logs.forEach((namespace, log) -> {
+
+            try {
+
+                if (log.needsCompaction(compactionThreshold, now)) {
+
+                    log.compact(now);
+                }
+            } catch (IOException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+    }
+
+    private boolean write(String namespace, String key, Function<List<Row>, SegmentLog.Update<Boolean>> update) {
+
+        return write(namespace, key, update, false);
+    }
+
+    private <R> R write(String namespace, String key, Function<List<Row>, SegmentLog.Update<R>> update, R failed) {
+
+        SegmentLog log = log(namespace);
+        if (log == null) {
+
+            return failed;
+        }
+
+        try {
+
+            return log.write(key, update);
+        } catch (IOException e) {
+
+            logger.severe(e.getMessage());
+            return failed;
+        }
+    }
+
+    private @Nullable SegmentLog log(String namespace) {
+
+        return logs.computeIfAbsent(namespace, n -> {
+
+            try {
+
+                return new SegmentLog(directory.resolve(n.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_.-]", "_")), segmentSize, syncWrites, translationEngine);
+            } catch (IOException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        });
+    }
+}
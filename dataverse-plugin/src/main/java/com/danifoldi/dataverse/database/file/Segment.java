@@ -0,0 +1,88 @@
+package com.danifoldi.dataverse.database.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class Segment implements AutoCloseable {
+
+    private final int id;
+    private final @NotNull Path path;
+    private final @NotNull FileChannel channel;
+    private long size;
+    private MappedByteBuffer mapped;
+
+    public Segment(int id, @NotNull Path path) throws IOException {
+
+        this.id = id;
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = channel.size();
+    }
+
+    public int id() {
+
+        return id;
+    }
+
+    public @NotNull Path path() {
+
+        return path;
+    }
+
+    public synchronized long size() {
+
+        return size;
+    }
+
+    public synchronized long append(@NotNull ByteBuffer record) throws IOException {
+
+        long offset = size;
+        while (record.hasRemaining()) {
+
+            size += channel.write(record, size);
+        }
+        return offset;
+    }
+
+    public synchronized @NotNull ByteBuffer read(long offset, int length) throws IOException {
+
+        if (mapped == null || offset + length > mapped.capacity()) {
+
+            // appends only ever grow the file, so the mapping is refreshed lazily when a read reaches past it
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return mapped.slice((int)offset, length);
+    }
+
+    public synchronized void truncate(long length) throws IOException {
+
+        channel.truncate(length);
+        size = length;
+        mapped = null;
+    }
+
+    public void sync() throws IOException {
+
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        mapped = null;
+        channel.close();
+    }
+
+    public void delete() throws IOException {
+
+        close();
+        Files.deleteIfExists(path);
+    }
+}
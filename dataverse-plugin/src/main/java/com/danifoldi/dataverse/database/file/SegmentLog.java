@@ -0,0 +1,545 @@
+package com.danifoldi.dataverse.database.file;
+
+import com.danifoldi.dataverse.database.memory.Row;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class SegmentLog implements AutoCloseable {
+
+    private static final byte DELETE = 0;
+    private static final byte PUT = 1;
+    // first record of a compacted segment, everything in older segments is superseded by it
+    private static final byte BASE = 2;
+    private static final int HEADER = Integer.BYTES * 2;
+    private static final long NO_TTL = Long.MIN_VALUE;
+
+    private final @NotNull Path directory;
+    private final long segmentSize;
+    private final boolean syncWrites;
+    private final @NotNull TranslationEngine translationEngine;
+    private final @NotNull TreeMap<@NotNull Integer, @NotNull Segment> segments = new TreeMap<>();
+    private final @NotNull Map<@NotNull String, @NotNull Pointer> index = new ConcurrentHashMap<>();
+    private final @NotNull ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalBytes = 0;
+    private long liveBytes = 0;
+    private @Nullable Instant nextExpiry = null;
+
+    private record Pointer(int segment, long offset, int length) {}
+
+    public SegmentLog(@NotNull Path directory, long segmentSize, boolean syncWrites, @NotNull TranslationEngine translationEngine) throws IOException {
+
+        this.directory = directory;
+        this.segmentSize = Math.min(segmentSize, Integer.MAX_VALUE);
+        this.syncWrites = syncWrites;
+        this.translationEngine = translationEngine;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+
+            for (Path file: files.toList()) {
+
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(".log")) {
+
+                    int id = Integer.parseInt(name.substring(0, name.length() - ".log".length()));
+                    segments.put(id, new Segment(id, file));
+                }
+            }
+        }
+        replay();
+    }
+
+    public @NotNull List<@NotNull Row> read(@NotNull String key) throws IOException {
+
+        lock.readLock().lock();
+        try {
+
+            Pointer pointer = index.get(key);
+            return pointer == null ? Collections.emptyList() : decode(segments.get(pointer.segment()).read(pointer.offset() + HEADER, pointer.length() - HEADER), true).rows();
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    // decodes only the timestamps, the values are skipped without being translated
+    public boolean alive(@NotNull String key, @NotNull Instant now) throws IOException {
+
+        lock.readLock().lock();
+        try {
+
+            Pointer pointer = index.get(key);
+            return pointer != null && decode(segments.get(pointer.segment()).read(pointer.offset() + HEADER, pointer.length() - HEADER), false).rows().stream().anyMatch(row -> row.alive(now));
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    public @NotNull List<@NotNull Row> readAll() throws IOException {
+
+        lock.readLock().lock();
+        try {
+
+            List<Row> rows = new ArrayList<>();
+            for (Pointer pointer: index.values()) {
+
+                rows.addAll(decode(segments.get(pointer.segment()).read(pointer.offset() + HEADER, pointer.length() - HEADER), true).rows());
+            }
+            return rows;
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    public <R> R write(@NotNull String key, @NotNull Function<@NotNull List<@NotNull Row>, @NotNull Update<R>> update) throws IOException {
+
+        lock.writeLock().lock();
+        try {
+
+            Update<R> result = update.apply(read(key));
+            if (result.rows() != null) {
+
+                append(key, result.rows());
+            }
+            return result.result();
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean needsCompaction(double threshold, @NotNull Instant now) {
+
+        lock.readLock().lock();
+        try {
+
+            boolean expired = nextExpiry != null && !nextExpiry.isAfter(now);
+            boolean garbage = totalBytes > 0 && (double)(totalBytes - liveBytes) / totalBytes >= threshold;
+            return expired || garbage;
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    public void compact(@NotNull Instant now) throws IOException {
+
+        lock.writeLock().lock();
+        try {
+
+            int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+            Path target = directory.resolve("%08d.log".formatted(id));
+            Path temporary = directory.resolve("%08d.tmp".formatted(id));
+            Map<String, Pointer> compacted = new HashMap<>();
+            Instant expiry = null;
+            long written;
+
+            try (Segment output = new Segment(id, temporary)) {
+
+                output.append(frame(new byte[] { BASE }));
+                for (Map.Entry<String, Pointer> entry: index.entrySet()) {
+
+                    Pointer pointer = entry.getValue();
+                    ByteBuffer original = segments.get(pointer.segment()).read(pointer.offset(), pointer.length());
+                    List<Row> rows = decode(original.slice(HEADER, pointer.length() - HEADER), false).rows();
+                    if (rows.stream().noneMatch(row -> row.alive(now))) {
+
+                        continue;
+                    }
+
+                    ByteBuffer record = original;
+                    if (!rows.stream().allMatch(row -> row.alive(now))) {
+
+                        rows = decode(original.slice(HEADER, pointer.length() - HEADER), true).rows().stream().filter(row -> row.alive(now)).toList();
+                        record = frame(encode(PUT, entry.getKey(), rows));
+                    }
+                    int length = record.remaining();
+                    compacted.put(entry.getKey(), new Pointer(id, output.append(record), length));
+                    expiry = earliest(expiry, rows);
+                }
+                output.sync();
+                written = output.size();
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (Segment segment: segments.values()) {
+
+                try {
+
+                    segment.delete();
+                } catch (IOException ignored) {
+
+                    // a leftover segment is harmless, the base record of the compacted segment supersedes it on replay
+                }
+            }
+            segments.clear();
+            segments.put(id, new Segment(id, target));
+            index.clear();
+            index.putAll(compacted);
+            totalBytes = written;
+            liveBytes = written;
+            nextExpiry = expiry;
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void sync() throws IOException {
+
+        lock.readLock().lock();
+        try {
+
+            if (!segments.isEmpty()) {
+
+                segments.lastEntry().getValue().sync();
+            }
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        lock.writeLock().lock();
+        try {
+
+            for (Segment segment: segments.values()) {
+
+                segment.sync();
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(@NotNull String key, @NotNull List<@NotNull Row> rows) throws IOException {
+
+        ByteBuffer record = frame(rows.isEmpty() ? encode(DELETE, key, rows) : encode(PUT, key, rows));
+        int length = record.remaining();
+        Segment segment = activeSegment(length);
+        long offset = segment.append(record);
+        if (syncWrites) {
+
+            segment.sync();
+        }
+
+        Pointer previous = rows.isEmpty() ? index.remove(key) : index.put(key, new Pointer(segment.id(), offset, length));
+        totalBytes += length;
+        liveBytes += (rows.isEmpty() ? 0 : length) - (previous == null ? 0 : previous.length());
+        nextExpiry = earliest(nextExpiry, rows);
+    }
+
+    private @NotNull Segment activeSegment(int length) throws IOException {
+
+        if (!segments.isEmpty()) {
+
+            Segment active = segments.lastEntry().getValue();
+            if (active.size() == 0 || active.size() + length <= segmentSize) {
+
+                return active;
+            }
+        }
+
+        int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Segment segment = new Segment(id, directory.resolve("%08d.log".formatted(id)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void replay() throws IOException {
+
+        for (Segment segment: segments.values()) {
+
+            long offset = 0;
+            long size = segment.size();
+            while (offset + HEADER <= size) {
+
+                ByteBuffer header = segment.read(offset, HEADER);
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length < 1 || offset + HEADER + length > size) {
+
+                    break;
+                }
+
+                ByteBuffer payload = segment.read(offset + HEADER, length);
+                CRC32 crc = new CRC32();
+                crc.update(payload.duplicate());
+                if ((int)crc.getValue() != checksum) {
+
+                    break;
+                }
+
+                Record record;
+                try {
+
+                    record = decode(payload, false);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+
+                    break;
+                }
+
+                Pointer pointer = new Pointer(segment.id(), offset, HEADER + length);
+                switch (record.operation()) {
+
+                    case BASE -> {
+
+                        index.clear();
+                        totalBytes = 0;
+                        liveBytes = 0;
+                    }
+                    case PUT -> {
+
+                        Pointer previous = index.put(record.key(), pointer);
+                        liveBytes += pointer.length() - (previous == null ? 0 : previous.length());
+                        nextExpiry = earliest(nextExpiry, record.rows());
+                    }
+                    default -> {
+
+                        Pointer previous = index.remove(record.key());
+                        liveBytes -= previous == null ? 0 : previous.length();
+                    }
+                }
+                totalBytes += pointer.length();
+                offset += pointer.length();
+            }
+
+            if (offset < size) {
+
+                // torn write from a crash, drop the partial record so appends continue from a clean boundary
+                segment.truncate(offset);
+            }
+        }
+    }
+
+    private @Nullable Instant earliest(@Nullable Instant current, @NotNull List<@NotNull Row> rows) {
+
+        for (Row row: rows) {
+
+            if (row.ttlTimestamp() != null && (current == null || row.ttlTimestamp().isBefore(current))) {
+
+                current = row.ttlTimestamp();
+            }
+        }
+        return current;
+    }
+
+    private @NotNull ByteBuffer frame(byte @NotNull [] payload) {
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int)crc.getValue());
+        record.put(payload);
+        return record.flip();
+    }
+
+    private byte @NotNull [] encode(byte operation, @NotNull String key, @NotNull List<@NotNull Row> rows) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(operation);
+        writeString(out, key);
+        out.writeInt(rows.size());
+        for (Row row: rows) {
+
+            out.writeLong(row.createTimestamp().toEpochMilli());
+            out.writeLong(row.updateTimestamp().toEpochMilli());
+            out.writeLong(row.ttlTimestamp() == null ? NO_TTL : row.ttlTimestamp().toEpochMilli());
+            out.writeInt(row.values().size());
+            for (Map.Entry<String, Object> value: row.values().entrySet()) {
+
+                writeString(out, value.getKey());
+                writeValue(out, value.getValue());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private @NotNull Record decode(@NotNull ByteBuffer in, boolean values) {
+
+        byte operation = in.get();
+        if (operation == BASE) {
+
+            return new Record(operation, "", Collections.emptyList());
+        }
+
+        String key = readString(in);
+        int count = in.getInt();
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+
+            Instant created = Instant.ofEpochMilli(in.getLong());
+            Instant updated = Instant.ofEpochMilli(in.getLong());
+            long ttl = in.getLong();
+            int fields = in.getInt();
+            Map<String, Object> fieldValues = new HashMap<>();
+            for (int j = 0; j < fields; j++) {
+
+                fieldValues.put(readString(in), readValue(in, values));
+            }
+            rows.add(new Row(key, Collections.unmodifiableMap(fieldValues), created, updated, ttl == NO_TTL ? null : Instant.ofEpochMilli(ttl)));
+        }
+        return new Record(operation, key, List.copyOf(rows));
+    }
+
+    private void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+
+        if (value == null) {
+
+            out.writeByte(0);
+        } else if (value instanceof String string) {
+
+            out.writeByte(1);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+
+            out.writeByte(2);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+
+            out.writeByte(3);
+            out.writeLong(number);
+        } else if (value instanceof Short number) {
+
+            out.writeByte(4);
+            out.writeShort(number);
+        } else if (value instanceof Byte number) {
+
+            out.writeByte(5);
+            out.writeByte(number);
+        } else if (value instanceof Float number) {
+
+            out.writeByte(6);
+            out.writeFloat(number);
+        } else if (value instanceof Double number) {
+
+            out.writeByte(7);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+
+            out.writeByte(8);
+            out.writeBoolean(bool);
+        } else if (value instanceof Character character) {
+
+            out.writeByte(9);
+            out.writeChar(character);
+        } else if (value instanceof BigDecimal decimal) {
+
+            out.writeByte(10);
+            writeString(out, decimal.toString());
+        } else if (value instanceof UUID uuid) {
+
+            out.writeByte(11);
+            writeString(out, uuid.toString());
+        } else {
+
+            for (Class<?> type = value.getClass(); type != null; type = type.getSuperclass()) {
+
+                Function<Object, String> encoder = translationEngine.getJavaTypeToString(type.getName());
+                if (encoder != null) {
+
+                    out.writeByte(12);
+                    writeString(out, type.getName());
+                    writeString(out, encoder.apply(value));
+                    return;
+                }
+            }
+            throw new IOException("No string translation registered for %s".formatted(value.getClass().getName()));
+        }
+    }
+
+    private @Nullable Object readValue(@NotNull ByteBuffer in, boolean translate) {
+
+        return switch (in.get()) {
+
+            case 0 -> null;
+            case 1 -> readString(in);
+            case 2 -> in.getInt();
+            case 3 -> in.getLong();
+            case 4 -> in.getShort();
+            case 5 -> in.get();
+            case 6 -> in.getFloat();
+            case 7 -> in.getDouble();
+            case 8 -> in.get() != 0;
+            case 9 -> in.getChar();
+            case 10 -> new BigDecimal(readString(in));
+            case 11 -> UUID.fromString(readString(in));
+            case 12 -> {
+
+                String type = readString(in);
+                String encoded = readString(in);
+                if (!translate) {
+
+                    yield null;
+                }
+                Function<String, Object> decoder = translationEngine.getStringToJavaType(type);
+                if (decoder == null) {
+
+                    throw new IllegalArgumentException("No string translation registered for %s".formatted(type));
+                }
+                yield decoder.apply(encoded);
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag");
+        };
+    }
+
+    private void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private @NotNull String readString(@NotNull ByteBuffer in) {
+
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public record Update<R>(@Nullable List<@NotNull Row> rows, R result) {}
+
+    private record Record(byte operation, @NotNull String key, @NotNull List<@NotNull Row> rows) {}
+}
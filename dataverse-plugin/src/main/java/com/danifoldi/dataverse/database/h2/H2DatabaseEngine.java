@@ -0,0 +1,95 @@
+package com.danifoldi.dataverse.database.h2;
+
+import com.danifoldi.dataverse.database.EngineExecutors;
+import com.danifoldi.dataverse.database.jdbc.JDBCDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class H2DatabaseEngine extends JDBCDatabaseEngine {
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        String mode = config.getOrDefault("h2_mode", "file").toLowerCase(Locale.ROOT);
+        String database = config.getOrDefault("h2_file_name", "dataverse");
+        boolean memory = mode.equals("memory");
+        String location = memory
+                ? "mem:%s".formatted(database)
+                : "file:%s".formatted(Path.of(config.getOrDefault("file_path", ".")).resolve(database).toAbsolutePath());
+        String connectionUrl = "jdbc:h2:%s;CACHE_SIZE=%s;PAGE_SIZE=%s%s".formatted(location,
+                config.getOrDefault("h2_cache_size", "16384"),
+                config.getOrDefault("h2_page_split_size", "16384"),
+                config.getOrDefault("h2_compatibility_mode", "").isBlank() ? "" : ";MODE=%s;DATABASE_TO_LOWER=TRUE".formatted(config.get("h2_compatibility_mode")));
+        long sweepInterval = Long.parseLong(config.getOrDefault("h2_sweep_interval", "3600"));
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setAutoCommit(true);
+        hikariConfig.setAllowPoolSuspension(false);
+        hikariConfig.setConnectionTimeout(5000);
+        hikariConfig.setInitializationFailTimeout(5000);
+        hikariConfig.setLeakDetectionThreshold(30000);
+        hikariConfig.setMaximumPoolSize(Integer.parseInt(config.getOrDefault("h2_pool_size", "8")));
+        // an in-memory database is dropped with its last connection, so the pool must never retire all of them
+        hikariConfig.setIdleTimeout(memory ? 0 : 30000);
+        hikariConfig.setMaxLifetime(memory ? 0 : 3600000);
+        hikariConfig.setPoolName("DataVerse Hikari H2 Pool");
+        hikariConfig.setDriverClassName(org.h2.Driver.class.getName());
+        hikariConfig.setJdbcUrl(connectionUrl);
+
+        shutdownPools();
+
+        // mvstore handles concurrent readers and writers itself, so both lanes share one pool
+        writePool = new HikariPool(hikariConfig);
+        readPool = writePool;
+
+        startExecutors(EngineExecutors.forSharedPool("H2", config, hikariConfig.getMaximumPoolSize()), config, sweepInterval);
+    }
+
+    @Override
+    protected @NotNull String quote(@NotNull String identifier) {
+
+        return "\"%s\"".formatted(identifier.replace("\"", "\"\""));
+    }
+
+    @Override
+    protected @NotNull String nullSafeEquals() {
+
+        return "IS NOT DISTINCT FROM";
+    }
+
+    @Override
+    protected @NotNull String inserted(@NotNull String column) {
+
+        return "source.%s".formatted(column);
+    }
+
+    @Override
+    protected @NotNull String existing(@NotNull String column) {
+
+        return "target.%s".formatted(column);
+    }
+
+    @Override
+    protected @NotNull String upsert(@NotNull String table, @NotNull List<@NotNull String> columns, @NotNull String assignments) {
+
+        //language=H2
+        return """
+                    MERGE INTO %s target
+                    USING (VALUES (%s)) source (%s)
+                    ON target.%s = source.%s
+                    WHEN MATCHED THEN UPDATE SET %s
+                    WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s);
+             """.formatted(table, String.join(", ", Collections.nCopies(columns.size(), "?")), String.join(", ", columns), columns.get(0), columns.get(0),
+                assignments, String.join(", ", columns), columns.stream().map(this::inserted).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,1010 @@
+package com.danifoldi.dataverse.database.jdbc;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.PageToken;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public abstract class JDBCDatabaseEngine extends JDBCOperations implements NamespacedDatabaseEngine {
+
+    // stays well below the bind parameter limit of every supported driver
+    private static final int KEYS_PER_QUERY = 500;
+
+    @Override
+    public void createNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createTable(namespace, fieldMap);
+        createIndexes(namespace, indexes);
+    }
+
+    @Override
+    public void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createMultiTable(namespace, fieldMap);
+        createIndexes(namespace, indexes);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> create(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        List<String> names = fieldMap.keySet().stream().toList();
+        Timestamp now = Timestamp.from(Instant.now());
+        WriteBatcher.Binder binder = statement -> {
+
+            AtomicInteger c = new AtomicInteger(1);
+
+            statement.setString(c.getAndIncrement(), key);
+            statement.setTimestamp(c.getAndIncrement(), now);
+            statement.setTimestamp(c.getAndIncrement(), now);
+            setStatementValues(statement, value, names, fieldMap, c);
+        };
+
+        if (batcher != null) {
+
+            // a taken key fails its batch, the rows are then retried one by one so only that caller sees false
+            return batcher.submit(insert(namespace, names, fieldMap, false), binder).thenApply(count -> count != Statement.EXECUTE_FAILED);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(insert(namespace, names, fieldMap, insertReturning()))) {
+
+                binder.bind(statement);
+
+                if (insertReturning()) {
+
+                    return statement.executeQuery().next();
+                }
+                statement.execute();
+
+                return true;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    private @NotNull String insert(String namespace, List<String> names, Map<String, FieldSpec> fieldMap, boolean returning) {
+
+        // where supported, a taken key skips the row instead of failing, and the returned key tells whether it was written
+        //language=SQL
+        return """
+                    %s INTO %s
+                    (%s, %s, %s%s) VALUES (?, ?, ?%s)%s;
+             """.formatted(returning ? "INSERT IGNORE" : "INSERT", table(namespace),
+                column(ColumnNames.KEY), column(ColumnNames.CREATE_TIMESTAMP), column(ColumnNames.UPDATE_TIMESTAMP),
+                names.isEmpty() ? "" : ", " + columns(names, fieldMap),
+                ", ?".repeat(names.size()),
+                returning ? "\nRETURNING " + column(ColumnNames.KEY) : "");
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> add(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return create(namespace, key, value, fieldMap);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT 1
+                    FROM %s
+                    %s
+                    LIMIT 1;
+             """.formatted(table(namespace), where(key, null));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, null);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                return results.next();
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String namespace, String key, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT *
+                    FROM %s
+                    %s;
+             """.formatted(table(namespace), where(key, null));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, null);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                if (!results.next()) {
+
+                    return null;
+                }
+                setResultValues(results, empty, fieldMap);
+                return empty;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAll(String namespace, List<String> keys, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, T> values = new HashMap<>();
+            try (final @NotNull Connection connection = readConnection()) {
+
+                for (int from = 0; from < keys.size(); from += KEYS_PER_QUERY) {
+
+                    List<String> chunk = keys.subList(from, Math.min(keys.size(), from + KEYS_PER_QUERY));
+
+                    //language=SQL
+                    String st = """
+                            SELECT *
+                            FROM %s
+                            %s
+                              AND %s IN (%s);
+                     """.formatted(table(namespace), where(null, null), column(ColumnNames.KEY), String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+                    try (final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                        AtomicInteger c = new AtomicInteger(1);
+
+                        bindWhere(statement, c, null, null);
+                        for (String key: chunk) {
+
+                            statement.setString(c.getAndIncrement(), key);
+                        }
+
+                        final @NotNull ResultSet results = statement.executeQuery();
+
+                        while (results.next()) {
+
+                            T value = instanceSupplier.get();
+                            String valueKey = results.getString(columnName(ColumnNames.KEY));
+                            setResultValues(results, value, fieldMap);
+                            values.put(valueKey, value);
+                        }
+                    }
+                }
+                return values;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return values;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace) {
+
+        return selectKeys(namespace, 0, 0, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength) {
+
+        return selectKeys(namespace, pageCount, pageLength, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return selectKeys(namespace, pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<String>> keys(String namespace, Supplier<T> instanceSupplier, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, sortKey == null ? Map.of() : Map.of(sortKey.name(), sortKey), null, pageLength, sortKey, reverse, token).thenApply(page -> page.map(Pair::getFirst));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<Pair<String, T>>> query(String namespace, @Nullable String key, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query) {
+
+        return select(namespace, instanceSupplier, fieldMap, key, query.filter() == null ? null : compile(query.filter()), query.pageCount(), query.pageLength(), query.sortKey(), query.reverse());
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<Pair<String, T>>> query(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, fieldMap, query.filter() == null ? null : compile(query.filter()), query.pageLength(), query.sortKey(), query.reverse(), token);
+    }
+
+    @Override
+    public CompletableFuture<Long> count(String namespace, @Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return selectCount(namespace, key, filter == null ? null : compile(filter), distinct);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BigDecimal> aggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Filter filter) {
+
+        return selectAggregate(namespace, key, aggregation, field, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BigDecimal>> aggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Filter filter) {
+
+        return selectAggregateBy(namespace, key, aggregation, field, groupBy, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> update(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        List<String> names = fieldMap.keySet().stream().toList();
+
+        //language=SQL
+        String st = """
+                    UPDATE %s
+                    SET %s = ?%s
+                    %s;
+             """.formatted(table(namespace), column(ColumnNames.UPDATE_TIMESTAMP),
+                names.stream().map(name -> ", %s = ?".formatted(column(fieldMap.get(name)))).collect(Collectors.joining()),
+                where(key, null));
+        Timestamp now = Timestamp.from(Instant.now());
+        WriteBatcher.Binder binder = statement -> {
+
+            AtomicInteger c = new AtomicInteger(1);
+
+            statement.setTimestamp(c.getAndIncrement(), now);
+            setStatementValues(statement, value, names, fieldMap, c);
+            bindWhere(statement, c, key, null);
+        };
+
+        if (batcher != null) {
+
+            // drivers sending batches in bulk report no per row count, those rows are taken as updated
+            return batcher.submit(st, binder).thenApply(count -> count > 0 || count == Statement.SUCCESS_NO_INFO);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                binder.bind(statement);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> increment(String namespace, String key, FieldSpec field, BigDecimal delta) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            //language=SQL
+            String st = """
+                    UPDATE %s
+                    SET %s = COALESCE(%s, 0) + ?, %s = ?
+                    %s;
+             """.formatted(table(namespace), column(field), column(field), column(ColumnNames.UPDATE_TIMESTAMP), where(key, null));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                statement.setBigDecimal(c.getAndIncrement(), delta);
+                statement.setTimestamp(c.getAndIncrement(), Timestamp.from(Instant.now()));
+                bindWhere(statement, c, key, null);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> compareAndSet(String namespace, String key, T expected, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            List<String> names = fieldMap.keySet().stream().toList();
+
+            //language=SQL
+            String st = """
+                    UPDATE %s
+                    SET %s = ?%s
+                    %s%s;
+             """.formatted(table(namespace), column(ColumnNames.UPDATE_TIMESTAMP),
+                    names.stream().map(name -> ", %s = ?".formatted(column(fieldMap.get(name)))).collect(Collectors.joining()),
+                    where(key, null), matching(names, fieldMap));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                statement.setTimestamp(c.getAndIncrement(), Timestamp.from(Instant.now()));
+                setStatementValues(statement, value, names, fieldMap, c);
+                bindWhere(statement, c, key, null);
+                setStatementValues(statement, expected, names, fieldMap, c);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> createOrUpdate(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            List<String> names = fieldMap.keySet().stream().toList();
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(upsert(namespace, names, fieldMap, true))) {
+
+                bindUpsert(statement, key, value, names, fieldMap);
+                statement.executeUpdate();
+
+                return true;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getOrCreate(String namespace, String key, T value, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            List<String> names = fieldMap.keySet().stream().toList();
+
+            //language=SQL
+            String st = """
+                    SELECT *
+                    FROM %s
+                    %s;
+             """.formatted(table(namespace), where(key, null));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement upsert = connection.prepareStatement(upsert(namespace, names, fieldMap, false));
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                bindUpsert(upsert, key, value, names, fieldMap);
+                upsert.executeUpdate();
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, null);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                if (!results.next()) {
+
+                    return null;
+                }
+                setResultValues(results, empty, fieldMap);
+                return empty;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }, executors.writes());
+    }
+
+    private @NotNull String upsert(String namespace, List<String> names, Map<String, FieldSpec> fieldMap, boolean overwrite) {
+
+        List<String> columns = new ArrayList<>(List.of(column(ColumnNames.KEY), column(ColumnNames.CREATE_TIMESTAMP), column(ColumnNames.UPDATE_TIMESTAMP)));
+        names.forEach(name -> columns.add(column(fieldMap.get(name))));
+
+        // a row that has expired but was not swept yet is replaced as if it was not there
+        String ttl = column(ColumnNames.TTL_TIMESTAMP);
+        String expired = "%s < %s".formatted(existing(ttl), inserted(column(ColumnNames.UPDATE_TIMESTAMP)));
+        List<String> assignments = new ArrayList<>();
+        for (String column: columns.subList(1, columns.size())) {
+
+            boolean replaced = overwrite && !column.equals(column(ColumnNames.CREATE_TIMESTAMP));
+            assignments.add(replaced
+                    ? "%s = %s".formatted(column, inserted(column))
+                    : "%s = CASE WHEN %s THEN %s ELSE %s END".formatted(column, expired, inserted(column), existing(column)));
+        }
+        // assigned last, as some dialects let the assignments above see the new value
+        assignments.add("%s = CASE WHEN %s THEN NULL ELSE %s END".formatted(ttl, expired, existing(ttl)));
+
+        return upsert(table(namespace), columns, String.join(", ", assignments));
+    }
+
+    private <T> void bindUpsert(PreparedStatement statement, String key, T value, List<String> names, Map<String, FieldSpec> fieldMap) throws SQLException {
+
+        AtomicInteger c = new AtomicInteger(1);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        statement.setString(c.getAndIncrement(), key);
+        statement.setTimestamp(c.getAndIncrement(), now);
+        statement.setTimestamp(c.getAndIncrement(), now);
+        setStatementValues(statement, value, names, fieldMap, c);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            //language=SQL
+            String st = """
+                    DELETE FROM %s
+                    %s;
+             """.formatted(table(namespace), where(key, null));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, null);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> deleteWhere(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            List<String> names = fieldMap.keySet().stream().toList();
+
+            //language=SQL
+            String st = """
+                    DELETE FROM %s
+                    %s%s;
+             """.formatted(table(namespace), where(key, null), matching(names, fieldMap));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, null);
+                setStatementValues(statement, value, names, fieldMap, c);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String namespace, String key, Instant expiry) {
+
+        return expireWhere(namespace, key, null, expiry, Collections.emptyMap());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> expireWhere(String namespace, String key, T value, Instant expiry, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            flushBatches();
+
+            List<String> names = fieldMap.keySet().stream().toList();
+
+            //language=SQL
+            String st = """
+                    UPDATE %s
+                    SET %s = ?, %s = ?
+                    WHERE %s = ?%s;
+             """.formatted(table(namespace), column(ColumnNames.TTL_TIMESTAMP), column(ColumnNames.UPDATE_TIMESTAMP),
+                    column(ColumnNames.KEY), matching(names, fieldMap));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                if (expiry == null) {
+
+                    statement.setNull(c.getAndIncrement(), Types.TIMESTAMP);
+                } else {
+
+                    statement.setTimestamp(c.getAndIncrement(), Timestamp.from(expiry));
+                }
+                statement.setTimestamp(c.getAndIncrement(), Timestamp.from(Instant.now()));
+                statement.setString(c.getAndIncrement(), key);
+                setStatementValues(statement, value, names, fieldMap, c);
+
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    private <T> CompletableFuture<List<Pair<String, T>>> select(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable String key, @Nullable Condition condition, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT %s
+                    FROM %s
+                    %s
+                    %s
+                    %s;
+             """.formatted(selected(fieldMap), table(namespace), where(key, condition), orderBy(sortKey, reverse), limit(pageLength));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, condition);
+                bindLimit(statement, c, pageCount, pageLength);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                List<Pair<String, T>> values = new ArrayList<>();
+                while (results.next()) {
+
+                    T value = instanceSupplier.get();
+                    String valueKey = results.getString(columnName(ColumnNames.KEY));
+                    setResultValues(results, value, fieldMap);
+                    values.add(Pair.of(valueKey, value));
+                }
+                return values;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    // pages continue from the last row read instead of skipping over an offset, so a deep page costs as much as the first
+    private <T> CompletableFuture<Page<Pair<String, T>>> seek(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable Condition condition, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            if (pageLength <= 0) {
+
+                throw new IllegalArgumentException("Page length must be positive");
+            }
+            PageToken after = PageToken.decode(token, sortKey, reverse, translationEngine);
+            String direction = reverse ? "DESC" : "ASC";
+
+            //language=SQL
+            String st = """
+                    SELECT %s
+                    FROM %s
+                    %s%s
+                    ORDER BY %s%s %s
+                    LIMIT ?;
+             """.formatted(selected(fieldMap), table(namespace), where(null, condition), after(after),
+                    sortKey == null ? "" : "%s %s, ".formatted(column(sortKey), direction), column(ColumnNames.KEY), direction);
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, null, condition);
+                bindAfter(statement, c, after, instanceSupplier);
+                statement.setInt(c.getAndIncrement(), pageLength + 1);
+                // the whole page arrives in one round trip and is never buffered past it
+                statement.setFetchSize(pageLength + 1);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                List<Pair<String, T>> values = new ArrayList<>();
+                while (results.next()) {
+
+                    T value = instanceSupplier.get();
+                    String valueKey = results.getString(columnName(ColumnNames.KEY));
+                    setResultValues(results, value, fieldMap);
+                    values.add(Pair.of(valueKey, value));
+                }
+                return Page.of(values, pageLength, sortKey, reverse, translationEngine);
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return new Page<>(Collections.emptyList(), null);
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<List<String>> selectKeys(String namespace, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT %s
+                    FROM %s
+                    %s
+                    GROUP BY %s
+                    %s
+                    %s;
+             """.formatted(column(ColumnNames.KEY), table(namespace), where(null, null), column(ColumnNames.KEY),
+                    sortKey == null ? "" : "ORDER BY %s(%s) %s".formatted(reverse ? "MAX" : "MIN", column(sortKey), reverse ? "DESC" : "ASC"),
+                    limit(pageLength));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, null, null);
+                bindLimit(statement, c, pageCount, pageLength);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                List<String> keys = new ArrayList<>();
+                while (results.next()) {
+
+                    keys.add(results.getString(1));
+                }
+                return keys;
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<Long> selectCount(String namespace, @Nullable String key, @Nullable Condition condition, boolean distinct) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT COUNT(%s)
+                    FROM %s
+                    %s;
+             """.formatted(distinct ? "DISTINCT " + column(ColumnNames.KEY) : "*", table(namespace), where(key, condition));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, condition);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                if (!results.next()) {
+                    return 0L;
+                }
+                return results.getLong(1);
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return 0L;
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<@Nullable BigDecimal> selectAggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT %s(%s)
+                    FROM %s
+                    %s;
+             """.formatted(aggregation.name(), column(field), table(namespace), where(key, condition));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, condition);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                if (!results.next() || results.getBigDecimal(1) == null) {
+                    return aggregation.empty();
+                }
+                return results.getBigDecimal(1);
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return aggregation.empty();
+            }
+        }, executors.reads());
+    }
+
+    // the groups are folded by the database, only one row per group comes back
+    private CompletableFuture<Map<String, BigDecimal>> selectAggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            //language=SQL
+            String st = """
+                    SELECT %s, %s(%s)
+                    FROM %s
+                    %s
+                    GROUP BY %s;
+             """.formatted(column(groupBy), aggregation.name(), column(field), table(namespace), where(key, condition), column(groupBy));
+
+            try (final @NotNull Connection connection = readConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                AtomicInteger c = new AtomicInteger(1);
+
+                bindWhere(statement, c, key, condition);
+
+                final @NotNull ResultSet results = statement.executeQuery();
+
+                Map<String, BigDecimal> groups = new HashMap<>();
+                while (results.next()) {
+
+                    String group = results.getString(1);
+                    BigDecimal value = results.getBigDecimal(2);
+                    if (group != null && value != null) {
+
+                        groups.put(group, value);
+                    }
+                }
+                return Map.copyOf(groups);
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyMap();
+            }
+        }, executors.reads());
+    }
+
+    // only the columns that are mapped back are read, so projections do not pay for the others
+    private String selected(Map<String, FieldSpec> fieldMap) {
+
+        return column(ColumnNames.KEY) + fieldMap.values().stream().map(spec -> ", " + column(spec)).collect(Collectors.joining());
+    }
+
+    private String where(@Nullable String key, @Nullable Condition condition) {
+
+        return "WHERE %s%s%s".formatted(alive(),
+                key == null ? "" : "\n  AND %s = ?".formatted(column(ColumnNames.KEY)),
+                condition == null ? "" : "\n  AND " + condition.clause());
+    }
+
+    private void bindWhere(PreparedStatement statement, AtomicInteger c, @Nullable String key, @Nullable Condition condition) throws SQLException {
+
+        statement.setTimestamp(c.getAndIncrement(), Timestamp.from(Instant.now()));
+        if (key != null) {
+
+            statement.setString(c.getAndIncrement(), key);
+        }
+        if (condition != null) {
+
+            for (Object parameter: condition.parameters()) {
+
+                if (parameter instanceof BigDecimal decimal) {
+
+                    statement.setBigDecimal(c.getAndIncrement(), decimal);
+                } else if (parameter instanceof Boolean bool) {
+
+                    statement.setBoolean(c.getAndIncrement(), bool);
+                } else {
+
+                    statement.setString(c.getAndIncrement(), parameter.toString());
+                }
+            }
+        }
+    }
+
+    private String matching(List<String> names, Map<String, FieldSpec> fieldMap) {
+
+        return names.stream().map(name -> "\n  AND %s %s ?".formatted(column(fieldMap.get(name)), nullSafeEquals())).collect(Collectors.joining());
+    }
+
+    private String orderBy(@Nullable FieldSpec sortKey, boolean reverse) {
+
+        return sortKey == null ? "" : "ORDER BY %s %s".formatted(column(sortKey), reverse ? "DESC" : "ASC");
+    }
+
+    // nulls sort lowest on every supported database, the key breaks ties between equal sort values
+    private String after(@Nullable PageToken after) {
+
+        if (after == null) {
+
+            return "";
+        }
+
+        String key = column(ColumnNames.KEY);
+        String comparison = after.reverse() ? "<" : ">";
+        if (after.sortKey() == null) {
+
+            return "\n  AND %s %s ?".formatted(key, comparison);
+        }
+
+        String sort = column(after.sortKey());
+        if (after.value() == null) {
+
+            return after.reverse()
+                    ? "\n  AND %s IS NULL AND %s < ?".formatted(sort, key)
+                    : "\n  AND (%s IS NOT NULL OR %s > ?)".formatted(sort, key);
+        }
+        return after.reverse()
+                ? "\n  AND (%s <= ? AND (%s < ? OR %s < ?) OR %s IS NULL)".formatted(sort, sort, key, sort)
+                : "\n  AND %s >= ? AND (%s > ? OR %s > ?)".formatted(sort, sort, key);
+    }
+
+    private <T> void bindAfter(PreparedStatement statement, AtomicInteger c, @Nullable PageToken after, Supplier<T> instanceSupplier) throws SQLException {
+
+        if (after == null) {
+
+            return;
+        }
+
+        if (after.sortKey() != null && after.value() != null) {
+
+            // the sort value is bound the same way it was written
+            T probe = instanceSupplier.get();
+            try {
+
+                after.sortKey().reflect().set(probe, after.value());
+            } catch (ReflectiveOperationException e) {
+
+                throw new IllegalArgumentException("Malformed page token", e);
+            }
+            Map<String, FieldSpec> sortMap = Map.of(after.sortKey().name(), after.sortKey());
+            setStatementValues(statement, probe, List.of(after.sortKey().name()), sortMap, c);
+            setStatementValues(statement, probe, List.of(after.sortKey().name()), sortMap, c);
+        }
+        statement.setString(c.getAndIncrement(), after.key());
+    }
+
+    private String limit(int pageLength) {
+
+        return pageLength > 0 ? "LIMIT ? OFFSET ?" : "";
+    }
+
+    private void bindLimit(PreparedStatement statement, AtomicInteger c, int pageCount, int pageLength) throws SQLException {
+
+        if (pageLength > 0) {
+
+            statement.setInt(c.getAndIncrement(), pageLength);
+            statement.setInt(c.getAndIncrement(), (pageCount - 1) * pageLength);
+        }
+    }
+
+    // the whole filter becomes one where clause, its parameters are bound in the order they appear in it
+    private Condition compile(Filter filter) {
+
+        if (filter instanceof Filter.Min min) {
+
+            return new Condition("%s >= ?".formatted(column(min.field())), List.of(min.cutoff()));
+        }
+        if (filter instanceof Filter.Max max) {
+
+            return new Condition("%s <= ?".formatted(column(max.field())), List.of(max.cutoff()));
+        }
+        if (filter instanceof Filter.Equals equals) {
+
+            return new Condition("%s = ?".formatted(column(equals.field())), List.of(equals.value()));
+        }
+        if (filter instanceof Filter.In in) {
+
+            return in.values().isEmpty()
+                    ? new Condition("1 = 0", List.of())
+                    : new Condition("%s IN (%s)".formatted(column(in.field()), String.join(", ", Collections.nCopies(in.values().size(), "?"))), in.values());
+        }
+        if (filter instanceof Filter.Prefix prefix) {
+
+            return new Condition("%s LIKE ? ESCAPE '!'".formatted(column(prefix.field())), List.of(prefix.prefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%"));
+        }
+        if (filter instanceof Filter.And and) {
+
+            return join(and.filters(), " AND ", "1 = 1");
+        }
+        if (filter instanceof Filter.Or or) {
+
+            return join(or.filters(), " OR ", "1 = 0");
+        }
+        throw new IllegalArgumentException("Unsupported filter " + filter);
+    }
+
+    private Condition join(List<Filter> filters, String operator, String empty) {
+
+        if (filters.isEmpty()) {
+
+            return new Condition(empty, List.of());
+        }
+
+        List<Condition> conditions = filters.stream().map(this::compile).toList();
+        return new Condition("(%s)".formatted(conditions.stream().map(Condition::clause).collect(Collectors.joining(operator))),
+                conditions.stream().flatMap(condition -> condition.parameters().stream()).toList());
+    }
+
+    private record Condition(@NotNull String clause, @NotNull List<@NotNull Object> parameters) {}
+}
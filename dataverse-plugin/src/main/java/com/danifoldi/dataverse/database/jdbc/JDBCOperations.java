@@ -0,0 +1,377 @@
+package com.danifoldi.dataverse.database.jdbc;
+
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.database.DatabaseEngine;
+import com.danifoldi.dataverse.database.EngineExecutors;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public abstract class JDBCOperations implements DatabaseEngine {
+
+    protected HikariPool writePool;
+    protected HikariPool readPool;
+    protected TranslationEngine translationEngine;
+    protected Logger logger;
+    protected EngineExecutors executors;
+    protected WriteBatcher batcher;
+    private final @NotNull Set<@NotNull String> namespaces = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void setLogger(@NotNull Logger logger) {
+
+        this.logger = logger;
+    }
+
+    @Override
+    public void close() {
+
+        flushBatches();
+        if (executors != null) {
+
+            executors.shutdown();
+        }
+
+        shutdownPools();
+    }
+
+    protected void shutdownPools() {
+
+        flushBatches();
+        try {
+
+            if (readPool != null && readPool != writePool) {
+
+                readPool.shutdown();
+            }
+            if (writePool != null) {
+
+                writePool.shutdown();
+            }
+        } catch (InterruptedException e) {
+
+            logger.severe(e.getMessage());
+        }
+    }
+
+    protected @NotNull Connection readConnection() throws SQLException {
+
+        return readPool.getConnection();
+    }
+
+    protected @NotNull Connection writeConnection() throws SQLException {
+
+        return writePool.getConnection();
+    }
+
+    protected void startExecutors(@NotNull EngineExecutors executors, @NotNull Map<@NotNull String, @NotNull String> config, long sweepInterval) {
+
+        if (this.executors != null) {
+
+            this.executors.shutdown();
+        }
+
+        this.executors = executors;
+        executors.ddl().scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+
+        int batchSize = Integer.parseInt(config.getOrDefault("batch_maximum_size", "64"));
+        batcher = batchSize <= 1 ? null : new WriteBatcher(this::writeConnection, executors.writes(), executors.ddl(), logger,
+                Long.parseLong(config.getOrDefault("batch_window", "0")), batchSize);
+    }
+
+    // writes that bypass the batcher must not overtake the ones still waiting in it
+    protected void flushBatches() {
+
+        if (batcher != null) {
+
+            batcher.flush();
+        }
+    }
+
+    void sweep() {
+
+        for (String namespace: namespaces) {
+
+            //language=SQL
+            String st = """
+                    DELETE FROM %s
+                    WHERE %s IS NOT NULL
+                      AND %s < ?;
+             """.formatted(table(namespace), column(ColumnNames.TTL_TIMESTAMP), column(ColumnNames.TTL_TIMESTAMP));
+
+            try (final @NotNull Connection connection = writeConnection();
+                 final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+                statement.setTimestamp(1, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+            }
+        }
+    }
+
+    protected abstract @NotNull String quote(@NotNull String identifier);
+
+    protected abstract @NotNull String nullSafeEquals();
+
+    protected @NotNull String columnType(@NotNull String javaType) {
+
+        String type = translationEngine.getMysqlColumn(javaType);
+        return type == null ? "TEXT" : type.replaceAll("(?i)\\s+CHARACTER SET.*$", "");
+    }
+
+    protected @NotNull String keyColumnType() {
+
+        return "VARCHAR(255)";
+    }
+
+    protected @NotNull String timestampColumnType() {
+
+        return "TIMESTAMP";
+    }
+
+    protected @NotNull String tableOptions() {
+
+        return "";
+    }
+
+    // how a field is referenced in an index, engines with a key length limit index a prefix of long text
+    protected @NotNull String indexColumn(@NotNull FieldSpec spec) {
+
+        return column(spec);
+    }
+
+    // engines with a limit on identifier length shorten long index names
+    protected @NotNull String indexIdentifier(@NotNull String name) {
+
+        return name;
+    }
+
+    protected @NotNull String indexOptions() {
+
+        return "";
+    }
+
+    // dialects without create index if not exists look the index up before creating it
+    protected boolean indexExists(@NotNull Connection connection, @NotNull String table, @NotNull String index) throws SQLException {
+
+        return false;
+    }
+
+    protected @NotNull String createIndex() {
+
+        return "CREATE INDEX IF NOT EXISTS";
+    }
+
+    protected boolean insertReturning() {
+
+        return false;
+    }
+
+    // the value the conflicting insert of an upsert would have written to the column
+    protected @NotNull String inserted(@NotNull String column) {
+
+        return "excluded.%s".formatted(column);
+    }
+
+    // the value the conflicting row already holds in the column
+    protected @NotNull String existing(@NotNull String column) {
+
+        return column;
+    }
+
+    protected @NotNull String upsert(@NotNull String table, @NotNull List<@NotNull String> columns, @NotNull String assignments) {
+
+        //language=SQL
+        return """
+                    INSERT INTO %s
+                    (%s) VALUES (%s)
+                    ON CONFLICT (%s) DO UPDATE SET %s;
+             """.formatted(table, String.join(", ", columns), String.join(", ", Collections.nCopies(columns.size(), "?")), column(ColumnNames.KEY), assignments);
+    }
+
+    String tableName(String namespace) {
+
+        return "%s__dataverse".formatted(namespace).toLowerCase(Locale.ROOT).replaceAll("\s", "").replace(".",  "_");
+    }
+
+    String indexName(String namespace, String index) {
+
+        return indexIdentifier("%s_%s_dataverse".formatted(namespace, index).toLowerCase(Locale.ROOT).replaceAll("\s", "").replace(".",  "_"));
+    }
+
+    String columnName(String name) {
+
+        return "dataverse_%s".formatted(name).toLowerCase(Locale.ROOT).replaceAll("\s", "").replace(".",  "_");
+    }
+
+    String columnName(String type, String name) {
+
+        return "%s_%s".formatted(type, name).toLowerCase(Locale.ROOT).replaceAll("\s", "").replace(".",  "_");
+    }
+
+    String table(String namespace) {
+
+        return quote(tableName(namespace));
+    }
+
+    String column(String name) {
+
+        return quote(columnName(name));
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    String column(FieldSpec spec) {
+
+        return quote(columnName(spec.type().toString(), spec.name()));
+    }
+
+    String columns(List<String> names, Map<String, FieldSpec> fieldMap) {
+
+        return names.stream().map(name -> column(fieldMap.get(name))).collect(Collectors.joining(", "));
+    }
+
+    String alive() {
+
+        return "(%s >= ? OR %s IS NULL)".formatted(column(ColumnNames.TTL_TIMESTAMP), column(ColumnNames.TTL_TIMESTAMP));
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    void setStatementValues(PreparedStatement statement, Object value, List<String> names, Map<String, FieldSpec> fieldMap, AtomicInteger i) {
+
+        try {
+
+            for (String name: names) {
+
+                translationEngine.getJavaTypeToMysqlQuery(fieldMap.get(name).type().toString()).apply(statement, i.getAndIncrement(), fieldMap.get(name), value);
+            }
+        } catch (ReflectiveOperationException | SQLException e) {
+
+            logger.severe(e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    void setResultValues(ResultSet result, Object value, Map<String, FieldSpec> fieldMap) {
+
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                translationEngine.getMysqlResultToJavaType(spec.type().toString()).apply(result, columnName(spec.type().toString(), name), spec, value);
+            } catch (ReflectiveOperationException | SQLException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+    }
+
+    void createTable(String namespace, Map<String, FieldSpec> fieldMap) {
+
+        createTable(namespace, fieldMap, "PRIMARY KEY (%s)".formatted(column(ColumnNames.KEY)));
+    }
+
+    void createMultiTable(String namespace, Map<String, FieldSpec> fieldMap) {
+
+        createTable(namespace, fieldMap, null);
+        createIndex(namespace, "key", column(ColumnNames.KEY));
+    }
+
+    private void createTable(String namespace, Map<String, FieldSpec> fieldMap, String primaryKey) {
+
+        CompletableFuture.runAsync(() -> runCreateTable(namespace, fieldMap, primaryKey), executors.ddl()).join();
+        createIndex(namespace, "ttl", column(ColumnNames.TTL_TIMESTAMP));
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private void runCreateTable(String namespace, Map<String, FieldSpec> fieldMap, String primaryKey) {
+
+        //language=SQL
+        String st = """
+                    CREATE TABLE IF NOT EXISTS
+                    %s
+                     (
+                     %s %s NOT NULL,
+                     %s %s NOT NULL,
+                     %s %s NOT NULL,
+                     %s %s NULL DEFAULT NULL%s
+                     %s
+                     )
+                     %s;
+             """.formatted(table(namespace),
+                column(ColumnNames.KEY), keyColumnType(),
+                column(ColumnNames.CREATE_TIMESTAMP), timestampColumnType(),
+                column(ColumnNames.UPDATE_TIMESTAMP), timestampColumnType(),
+                column(ColumnNames.TTL_TIMESTAMP), timestampColumnType(),
+                fieldMap.values().stream().map(spec -> ",\n %s %s".formatted(column(spec), columnType(spec.type().toString()))).collect(Collectors.joining()),
+                primaryKey == null ? "" : ",\n " + primaryKey,
+                tableOptions());
+
+        try (final @NotNull Connection connection = writeConnection();
+             final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+            statement.execute();
+            namespaces.add(namespace);
+        } catch (SQLException e) {
+
+            logger.severe(e.getMessage());
+        }
+    }
+
+    // indexes declared with @Indexed, existing tables get the ones they are missing
+    void createIndexes(String namespace, List<IndexSpec> indexes) {
+
+        for (IndexSpec index: indexes) {
+
+            createIndex(namespace, index.name(), index.fields().stream().map(this::indexColumn).collect(Collectors.joining(", ")));
+        }
+    }
+
+    void createIndex(String namespace, String index, String columns) {
+
+        CompletableFuture.runAsync(() -> runCreateIndex(namespace, index, columns), executors.ddl()).join();
+    }
+
+    private void runCreateIndex(String namespace, String index, String columns) {
+
+        //language=SQL
+        String st = """
+                    %s %s
+                    ON %s (%s)
+                    %s;
+             """.formatted(createIndex(), quote(indexName(namespace, index)), table(namespace), columns, indexOptions());
+
+        try (final @NotNull Connection connection = writeConnection();
+             final @NotNull PreparedStatement statement = connection.prepareStatement(st)) {
+
+            if (!indexExists(connection, tableName(namespace), indexName(namespace, index))) {
+
+                statement.execute();
+            }
+        } catch (SQLException e) {
+
+            logger.severe(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.danifoldi.dataverse.database.jdbc;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public class WriteBatcher {
+
+    public interface Connections {
+
+        @NotNull Connection get() throws SQLException;
+    }
+
+    public interface Binder {
+
+        void bind(@NotNull PreparedStatement statement) throws SQLException;
+    }
+
+    private record Write(@NotNull String statement, @NotNull Binder binder, @NotNull CompletableFuture<@NotNull Integer> result) {}
+
+    private final @NotNull Connections connections;
+    private final @NotNull Executor writes;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull Logger logger;
+    private final long window;
+    private final int maximumSize;
+    private final @NotNull Object lock = new Object();
+    // held for the whole flush, a flush waits for the one in flight so no write overtakes an earlier batch
+    private final @NotNull Object flushing = new Object();
+    private @NotNull List<@NotNull Write> pending = new ArrayList<>();
+    private boolean scheduled = false;
+
+    public WriteBatcher(final @NotNull Connections connections,
+                        final @NotNull Executor writes,
+                        final @NotNull ScheduledExecutorService scheduler,
+                        final @NotNull Logger logger,
+                        final long window,
+                        final int maximumSize) {
+
+        this.connections = connections;
+        this.writes = writes;
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.window = window;
+        this.maximumSize = maximumSize;
+    }
+
+    // completes with the update count of the row, Statement.EXECUTE_FAILED if it could not be written
+    public @NotNull CompletableFuture<@NotNull Integer> submit(@NotNull String statement, @NotNull Binder binder) {
+
+        Write write = new Write(statement, binder, new CompletableFuture<>());
+        final boolean full;
+        final boolean schedule;
+        synchronized (lock) {
+
+            pending.add(write);
+            full = pending.size() >= maximumSize;
+            schedule = !scheduled && !full;
+            scheduled = scheduled || schedule;
+        }
+
+        if (full || schedule && window <= 0) {
+
+            // without a window, the batch holds whatever arrives while the flush waits for a write thread
+            writes.execute(this::flush);
+        } else if (schedule) {
+
+            scheduler.schedule(() -> writes.execute(this::flush), window, TimeUnit.MILLISECONDS);
+        }
+        return write.result();
+    }
+
+    public void flush() {
+
+        synchronized (flushing) {
+
+            final @NotNull List<@NotNull Write> batch;
+            synchronized (lock) {
+
+                scheduled = false;
+                if (pending.isEmpty()) {
+
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+
+            try (final @NotNull Connection connection = connections.get()) {
+
+                // only consecutive writes of the same statement share a batch, so writes to one key keep their order
+                int start = 0;
+                for (int i = 1; i <= batch.size(); i++) {
+
+                    if (i == batch.size() || i - start == maximumSize || !batch.get(i).statement().equals(batch.get(start).statement())) {
+
+                        execute(connection, batch.subList(start, i));
+                        start = i;
+                    }
+                }
+            } catch (SQLException e) {
+
+                logger.severe(e.getMessage());
+                batch.forEach(write -> write.result().complete(Statement.EXECUTE_FAILED));
+            }
+        }
+    }
+
+    private void execute(Connection connection, List<Write> run) {
+
+        if (run.size() == 1) {
+
+            executeSingle(connection, run.get(0));
+            return;
+        }
+
+        int[] counts;
+        try {
+
+            connection.setAutoCommit(false);
+            try (final @NotNull PreparedStatement statement = connection.prepareStatement(run.get(0).statement())) {
+
+                for (Write write: run) {
+
+                    write.binder().bind(statement);
+                    statement.addBatch();
+                }
+                counts = statement.executeBatch();
+                connection.commit();
+            }
+        } catch (SQLException | RuntimeException e) {
+
+            counts = null;
+            try {
+
+                connection.rollback();
+            } catch (SQLException rollback) {
+
+                logger.severe(rollback.getMessage());
+            }
+        }
+
+        try {
+
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+
+            logger.severe(e.getMessage());
+        }
+
+        if (counts == null || counts.length != run.size()) {
+
+            // one failing row must not fail the rest, they are retried one by one
+            run.forEach(write -> executeSingle(connection, write));
+            return;
+        }
+        for (int i = 0; i < run.size(); i++) {
+
+            run.get(i).result().complete(counts[i]);
+        }
+    }
+
+    private void executeSingle(Connection connection, Write write) {
+
+        try (final @NotNull PreparedStatement statement = connection.prepareStatement(write.statement())) {
+
+            write.binder().bind(statement);
+            write.result().complete(statement.executeUpdate());
+        } catch (SQLException | RuntimeException e) {
+
+            logger.severe(e.getMessage());
+            write.result().complete(Statement.EXECUTE_FAILED);
+        }
+    }
+}
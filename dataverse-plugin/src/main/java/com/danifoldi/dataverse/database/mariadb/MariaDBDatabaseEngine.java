@@ -0,0 +1,51 @@
+package com.danifoldi.dataverse.database.mariadb;
+
+import com.danifoldi.dataverse.database.mysql.MySQLDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+// speaks the mysql dialect, only the driver and insert returning differ
+public class MariaDBDatabaseEngine extends MySQLDatabaseEngine {
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        String connectionUrl = String.format("jdbc:mariadb://%s:%s/%s?%s",
+                config.getOrDefault("mariadb_host", "localhost"), config.getOrDefault("mariadb_port", "3306"), config.getOrDefault("mariadb_database", "dataverse"),
+                config.getOrDefault("mariadb_connection_options", "").replaceFirst("^\\?", ""));
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setAutoCommit(true);
+        hikariConfig.setAllowPoolSuspension(false);
+        hikariConfig.setIdleTimeout(30000);
+        hikariConfig.setConnectionTimeout(5000);
+        hikariConfig.setInitializationFailTimeout(5000);
+        hikariConfig.setKeepaliveTime(30000);
+        hikariConfig.setLeakDetectionThreshold(30000);
+        hikariConfig.setMaximumPoolSize(Integer.parseInt(config.getOrDefault("mariadb_pool_size", "16")));
+        hikariConfig.setMaxLifetime(3600000);
+        hikariConfig.setPoolName("DataVerse Hikari MariaDB Pool");
+        hikariConfig.setDriverClassName(org.mariadb.jdbc.Driver.class.getName());
+        hikariConfig.setUsername(config.get("mariadb_user"));
+        hikariConfig.setPassword(config.get("mariadb_password"));
+        hikariConfig.setJdbcUrl(connectionUrl);
+        // batches are sent with the binary bulk protocol, a single round trip regardless of the row count
+        hikariConfig.addDataSourceProperty("useBulkStmts", true);
+        hikariConfig.addDataSourceProperty("useServerPrepStmts", true);
+        hikariConfig.addDataSourceProperty("cachePrepStmts", true);
+        hikariConfig.addDataSourceProperty("prepStmtCacheSize", 250);
+        hikariConfig.addDataSourceProperty("useCompression", false);
+
+        open("MariaDB", hikariConfig, config, Long.parseLong(config.getOrDefault("mariadb_sweep_interval", "3600")));
+    }
+
+    @Override
+    protected boolean insertReturning() {
+
+        return true;
+    }
+}
@@ -0,0 +1,345 @@
+package com.danifoldi.dataverse.database.memory;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.PageToken;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MemoryDatabaseEngine extends MemoryOperations implements NamespacedDatabaseEngine {
+
+    @Override
+    public void createNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createNamespace(namespace);
+    }
+
+    @Override
+    public void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createNamespace(namespace);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> create(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(insert(namespace, key, snapshot(value, fieldMap), true));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> add(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(insert(namespace, key, snapshot(value, fieldMap), false));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String namespace, String key) {
+
+        return CompletableFuture.completedFuture(live(namespace, key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String namespace, String key, T empty, Map<String, FieldSpec> fieldMap) {
+
+        List<Row> rows = rows(namespace, key);
+        return CompletableFuture.completedFuture(rows.isEmpty() ? null : materialize(rows.get(0), empty, fieldMap));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAll(String namespace, List<String> keys, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap) {
+
+        Map<String, T> values = new HashMap<>();
+        for (String key: keys) {
+
+            List<Row> rows = rows(namespace, key);
+            if (!rows.isEmpty()) {
+
+                values.put(key, materialize(rows.get(0), instanceSupplier.get(), fieldMap));
+            }
+        }
+        return CompletableFuture.completedFuture(values);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace) {
+
+        return CompletableFuture.completedFuture(rows(namespace).map(Row::key).distinct().toList());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength) {
+
+        return CompletableFuture.completedFuture(page(rows(namespace).map(Row::key).distinct(), pageCount, pageLength).toList());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.completedFuture(page(rows(namespace).sorted(sortBy(sortKey, reverse)).map(Row::key).distinct(), pageCount, pageLength).toList());
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<String>> keys(String namespace, Supplier<T> instanceSupplier, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, sortKey == null ? Map.of() : Map.of(sortKey.name(), sortKey), null, pageLength, sortKey, reverse, token).thenApply(page -> page.map(Pair::getFirst));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<Pair<String, T>>> query(String namespace, @Nullable String key, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query) {
+
+        Stream<Row> rows = matching(namespace, key, query.filter());
+        return pairs(page(query.sortKey() == null ? rows : rows.sorted(sortBy(query.sortKey(), query.reverse())), query.pageCount(), query.pageLength()), instanceSupplier, fieldMap);
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<Pair<String, T>>> query(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, fieldMap, query.filter() == null ? null : compile(query.filter()), query.pageLength(), query.sortKey(), query.reverse(), token);
+    }
+
+    @Override
+    public CompletableFuture<Long> count(String namespace, @Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        Stream<Row> rows = matching(namespace, key, filter);
+        return CompletableFuture.completedFuture(distinct ? rows.map(Row::key).distinct().count() : rows.count());
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BigDecimal> aggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Filter filter) {
+
+        return CompletableFuture.completedFuture(aggregation.apply(matching(namespace, key, filter).map(row -> operand(aggregation, row.value(field.name())))));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BigDecimal>> aggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Filter filter) {
+
+        Map<String, List<Row>> rows = matching(namespace, key, filter)
+                .filter(row -> row.value(groupBy.name()) != null)
+                .collect(Collectors.groupingBy(row -> String.valueOf(row.value(groupBy.name()))));
+
+        Map<String, BigDecimal> groups = new HashMap<>();
+        rows.forEach((group, members) -> {
+
+            BigDecimal value = aggregation.apply(members.stream().map(row -> operand(aggregation, row.value(field.name()))));
+            if (value != null) {
+
+                groups.put(group, value);
+            }
+        });
+        return CompletableFuture.completedFuture(Map.copyOf(groups));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> update(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        Map<String, Object> values = snapshot(value, fieldMap);
+        return CompletableFuture.completedFuture(replace(namespace, key, null, current -> merge(current, values)));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> increment(String namespace, String key, FieldSpec field, BigDecimal delta) {
+
+        return CompletableFuture.completedFuture(replace(namespace, key, null, values -> increment(values, field, delta)));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> compareAndSet(String namespace, String key, T expected, T value, Map<String, FieldSpec> fieldMap) {
+
+        Map<String, Object> values = snapshot(value, fieldMap);
+        return CompletableFuture.completedFuture(replace(namespace, key, snapshot(expected, fieldMap), current -> values));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> createOrUpdate(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(upsert(namespace, key, snapshot(value, fieldMap), true) != null);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getOrCreate(String namespace, String key, T value, T empty, Map<String, FieldSpec> fieldMap) {
+
+        Row row = upsert(namespace, key, snapshot(value, fieldMap), false);
+        return CompletableFuture.completedFuture(row == null ? null : materialize(row, empty, fieldMap));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String namespace, String key) {
+
+        return CompletableFuture.completedFuture(remove(namespace, key, null));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> deleteWhere(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(remove(namespace, key, snapshot(value, fieldMap)));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String namespace, String key, Instant expiry) {
+
+        return CompletableFuture.completedFuture(expire(namespace, key, null, expiry));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> expireWhere(String namespace, String key, T value, Instant expiry, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(expire(namespace, key, snapshot(value, fieldMap), expiry));
+    }
+
+    private <T> CompletableFuture<Page<Pair<String, T>>> seek(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable Predicate<Row> condition, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        final PageToken after;
+        try {
+
+            if (pageLength <= 0) {
+
+                throw new IllegalArgumentException("Page length must be positive");
+            }
+            after = PageToken.decode(token, sortKey, reverse, translationEngine);
+        } catch (IllegalArgumentException e) {
+
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Comparator<Row> order = sortKey == null ? Comparator.comparing(Row::key) : sortBy(sortKey, false).thenComparing(Row::key);
+        Stream<Row> rows = rows(namespace).filter(condition == null ? row -> true : condition);
+        if (after != null) {
+
+            rows = rows.filter(row -> {
+
+                int position = sortKey == null ? 0 : compareValues(row.value(sortKey.name()), after.value());
+                position = position != 0 ? position : row.key().compareTo(after.key());
+                return reverse ? position < 0 : position > 0;
+            });
+        }
+        return pairs(rows.sorted(reverse ? order.reversed() : order).limit(pageLength + 1), instanceSupplier, fieldMap)
+                .thenApply(values -> Page.of(values, pageLength, sortKey, reverse, translationEngine));
+    }
+
+    private <T> CompletableFuture<List<Pair<String, T>>> pairs(Stream<Row> rows, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.completedFuture(rows.map(row -> Pair.of(row.key(), materialize(row, instanceSupplier.get(), fieldMap))).toList());
+    }
+
+    private Stream<Row> matching(String namespace, @Nullable String key, @Nullable Filter filter) {
+
+        Stream<Row> rows = key == null ? rows(namespace) : rows(namespace, key).stream();
+        return filter == null ? rows : rows.filter(compile(filter));
+    }
+
+    // count only needs a value to be there, whatever its type
+    private @Nullable BigDecimal operand(Aggregation aggregation, @Nullable Object value) {
+
+        if (aggregation == Aggregation.COUNT) {
+
+            return value == null ? null : BigDecimal.ONE;
+        }
+        return numeric(value);
+    }
+
+    private Predicate<Row> min(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return row -> {
+
+            BigDecimal value = numeric(row.value(filterKey.name()));
+            return value != null && value.compareTo(cutoff) >= 0;
+        };
+    }
+
+    private Predicate<Row> max(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return row -> {
+
+            BigDecimal value = numeric(row.value(filterKey.name()));
+            return value != null && value.compareTo(cutoff) <= 0;
+        };
+    }
+
+    private Predicate<Row> equal(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return row -> {
+
+            BigDecimal value = numeric(row.value(filterKey.name()));
+            return value != null && value.compareTo(cutoff) == 0;
+        };
+    }
+
+    private Predicate<Row> equal(FieldSpec filterKey, String value) {
+
+        return row -> row.value(filterKey.name()) != null && String.valueOf(row.value(filterKey.name())).equals(value);
+    }
+
+    private Predicate<Row> bool(FieldSpec filterKey, boolean value) {
+
+        return row -> row.value(filterKey.name()) != null && truthy(row.value(filterKey.name())) == value;
+    }
+
+    private Predicate<Row> prefix(FieldSpec filterKey, String prefix) {
+
+        return row -> row.value(filterKey.name()) != null && String.valueOf(row.value(filterKey.name())).startsWith(prefix);
+    }
+
+    // the filter tree becomes one predicate over the stored rows
+    private Predicate<Row> compile(Filter filter) {
+
+        if (filter instanceof Filter.Min min) {
+
+            return min(min.field(), min.cutoff());
+        }
+        if (filter instanceof Filter.Max max) {
+
+            return max(max.field(), max.cutoff());
+        }
+        if (filter instanceof Filter.Equals equals) {
+
+            return equal(equals.field(), equals.value());
+        }
+        if (filter instanceof Filter.In in) {
+
+            return in.values().stream().map(value -> equal(in.field(), value)).reduce(row -> false, Predicate::or);
+        }
+        if (filter instanceof Filter.Prefix prefix) {
+
+            return prefix(prefix.field(), prefix.prefix());
+        }
+        if (filter instanceof Filter.And and) {
+
+            return and.filters().stream().map(this::compile).reduce(row -> true, Predicate::and);
+        }
+        if (filter instanceof Filter.Or or) {
+
+            return or.filters().stream().map(this::compile).reduce(row -> false, Predicate::or);
+        }
+        throw new IllegalArgumentException("Unsupported filter " + filter);
+    }
+
+    private Predicate<Row> equal(FieldSpec filterKey, Object value) {
+
+        if (value instanceof BigDecimal decimal) {
+
+            return equal(filterKey, decimal);
+        }
+        if (value instanceof Boolean bool) {
+
+            return bool(filterKey, bool);
+        }
+        return equal(filterKey, value.toString());
+    }
+}
@@ -0,0 +1,327 @@
+package com.danifoldi.dataverse.database.memory;
+
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.database.DatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+public class MemoryOperations implements DatabaseEngine {
+
+    // namespace -> key -> rows, the row lists are immutable and replaced on every write
+    private final @NotNull Map<@NotNull String, @NotNull Map<@NotNull String, @NotNull List<@NotNull Row>>> namespaces = new ConcurrentHashMap<>();
+    protected TranslationEngine translationEngine;
+    protected Logger logger;
+    private ScheduledExecutorService sweeper;
+
+    @Override
+    public void setLogger(@NotNull Logger logger) {
+
+        this.logger = logger;
+    }
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        long sweepInterval = Long.parseLong(config.getOrDefault("memory_sweep_interval", "60"));
+
+        if (sweeper != null) {
+
+            sweeper.shutdownNow();
+        }
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+            Thread thread = new Thread(runnable, "DataVerse Memory Sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+
+        if (sweeper != null) {
+
+            sweeper.shutdownNow();
+        }
+    }
+
+    protected void createNamespace(String namespace) {
+
+        namespaces.computeIfAbsent(namespace, n -> new ConcurrentHashMap<>());
+    }
+
+    protected @NotNull Map<@NotNull String, @NotNull List<@NotNull Row>> namespace(String namespace) {
+
+        return namespaces.computeIfAbsent(namespace, n -> new ConcurrentHashMap<>());
+    }
+
+    protected @NotNull Stream<@NotNull Row> rows(String namespace) {
+
+        Instant now = Instant.now();
+        return namespace(namespace).values().stream().flatMap(List::stream).filter(row -> row.alive(now));
+    }
+
+    protected @NotNull List<@NotNull Row> rows(String namespace, String key) {
+
+        Instant now = Instant.now();
+        List<Row> rows = namespace(namespace).getOrDefault(key, Collections.emptyList());
+        return rows.stream().filter(row -> row.alive(now)).toList();
+    }
+
+    protected boolean live(String namespace, String key) {
+
+        Instant now = Instant.now();
+        return namespace(namespace).getOrDefault(key, Collections.emptyList()).stream().anyMatch(row -> row.alive(now));
+    }
+
+    protected boolean insert(String namespace, String key, Map<String, Object> values, boolean unique) {
+
+        Instant now = Instant.now();
+        AtomicBoolean inserted = new AtomicBoolean(false);
+
+        namespace(namespace).compute(key, (k, rows) -> {
+
+            List<Row> live = rows == null ? new ArrayList<>() : new ArrayList<>(rows.stream().filter(row -> row.alive(now)).toList());
+            if (unique && !live.isEmpty()) {
+
+                return rows;
+            }
+            live.add(new Row(key, values, now, now, null));
+            inserted.set(true);
+            return List.copyOf(live);
+        });
+        return inserted.get();
+    }
+
+    protected boolean replace(String namespace, String key, Map<String, Object> values) {
+
+        return replace(namespace, key, null, current -> values);
+    }
+
+    // only live rows holding the expected values are changed, or every live row when nothing is expected
+    protected boolean replace(String namespace, String key, @Nullable Map<String, Object> expected, UnaryOperator<Map<String, Object>> change) {
+
+        Instant now = Instant.now();
+        AtomicBoolean replaced = new AtomicBoolean(false);
+
+        namespace(namespace).computeIfPresent(key, (k, rows) -> rows.stream().map(row -> {
+
+            if (!row.alive(now) || expected != null && !row.sameValues(expected)) {
+
+                return row;
+            }
+            replaced.set(true);
+            return row.withValues(change.apply(row.values()), now);
+        }).toList());
+        return replaced.get();
+    }
+
+    // creates the row unless a live one exists, which is then kept or, when overwriting, given the new values
+    protected @Nullable Row upsert(String namespace, String key, Map<String, Object> values, boolean overwrite) {
+
+        Instant now = Instant.now();
+        AtomicReference<Row> result = new AtomicReference<>();
+
+        namespace(namespace).compute(key, (k, rows) -> {
+
+            Row live = rows == null ? null : rows.stream().filter(row -> row.alive(now)).findFirst().orElse(null);
+            Row row = live == null ? new Row(key, values, now, now, null) : overwrite ? live.withValues(values, now) : live;
+            result.set(row);
+            return List.of(row);
+        });
+        return result.get();
+    }
+
+    protected boolean remove(String namespace, String key, @Nullable Map<String, Object> values) {
+
+        Instant now = Instant.now();
+        AtomicBoolean removed = new AtomicBoolean(false);
+
+        namespace(namespace).computeIfPresent(key, (k, rows) -> {
+
+            List<Row> kept = rows.stream().filter(row -> {
+
+                boolean match = row.alive(now) && (values == null || row.sameValues(values));
+                removed.compareAndSet(false, match);
+                return !match;
+            }).toList();
+            return kept.isEmpty() ? null : kept;
+        });
+        return removed.get();
+    }
+
+    protected boolean expire(String namespace, String key, @Nullable Map<String, Object> values, @Nullable Instant expiry) {
+
+        Instant now = Instant.now();
+        AtomicBoolean expired = new AtomicBoolean(false);
+
+        namespace(namespace).computeIfPresent(key, (k, rows) -> rows.stream().map(row -> {
+
+            if (values != null && !row.sameValues(values)) {
+
+                return row;
+            }
+            expired.set(true);
+            return row.withTtl(expiry, now);
+        }).toList());
+        return expired.get();
+    }
+
+    protected void sweep() {
+
+        Instant now = Instant.now();
+        namespaces.values().forEach(namespace -> namespace.replaceAll((key, rows) -> {
+
+            if (rows.stream().allMatch(row -> row.alive(now))) {
+
+                return rows;
+            }
+            return rows.stream().filter(row -> row.alive(now)).toList();
+        }));
+        namespaces.values().forEach(namespace -> namespace.values().removeIf(List::isEmpty));
+    }
+
+    Map<String, Object> snapshot(Object value, Map<String, FieldSpec> fieldMap) {
+
+        Map<String, Object> values = new HashMap<>();
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                values.put(name, spec.reflect().get(value));
+            } catch (ReflectiveOperationException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return Collections.unmodifiableMap(values);
+    }
+
+    <T> T materialize(Row row, T value, Map<String, FieldSpec> fieldMap) {
+
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                spec.reflect().set(value, row.value(name));
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return value;
+    }
+
+    @Nullable BigDecimal numeric(@Nullable Object value) {
+
+        try {
+
+            if (value instanceof BigDecimal decimal) {
+
+                return decimal;
+            }
+            if (value instanceof Number || value instanceof String) {
+
+                return new BigDecimal(value.toString());
+            }
+            if (value instanceof Boolean bool) {
+
+                return bool ? BigDecimal.ONE : BigDecimal.ZERO;
+            }
+        } catch (NumberFormatException ignored) {
+
+        }
+        return null;
+    }
+
+    // fields left out of the changed values keep what they held
+    Map<String, Object> merge(Map<String, Object> values, Map<String, Object> changed) {
+
+        Map<String, Object> merged = new HashMap<>(values);
+        merged.putAll(changed);
+        return Collections.unmodifiableMap(merged);
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    Map<String, Object> increment(Map<String, Object> values, FieldSpec field, BigDecimal delta) {
+
+        BigDecimal current = numeric(values.get(field.name()));
+        BigDecimal sum = (current == null ? BigDecimal.ZERO : current).add(delta);
+        Map<String, Object> incremented = new HashMap<>(values);
+        incremented.put(field.name(), switch (field.type().toString()) {
+
+            case "int", "java.lang.Integer" -> sum.intValue();
+            case "long", "java.lang.Long" -> sum.longValue();
+            case "short", "java.lang.Short" -> sum.shortValue();
+            case "byte", "java.lang.Byte" -> sum.byteValue();
+            case "float", "java.lang.Float" -> sum.floatValue();
+            case "double", "java.lang.Double" -> sum.doubleValue();
+            default -> sum;
+        });
+        return Collections.unmodifiableMap(incremented);
+    }
+
+    boolean truthy(@Nullable Object value) {
+
+        if (value instanceof Boolean bool) {
+
+            return bool;
+        }
+        BigDecimal number = numeric(value);
+        return number != null && number.signum() != 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    int compareValues(@Nullable Object a, @Nullable Object b) {
+
+        if (a == null || b == null) {
+
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+
+        BigDecimal numberA = a instanceof Number ? numeric(a) : null;
+        BigDecimal numberB = b instanceof Number ? numeric(b) : null;
+        if (numberA != null && numberB != null) {
+
+            return numberA.compareTo(numberB);
+        }
+        if (a instanceof Comparable comparable && a.getClass().equals(b.getClass())) {
+
+            return comparable.compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    Comparator<Row> sortBy(FieldSpec sortKey, boolean reverse) {
+
+        Comparator<Row> comparator = (a, b) -> compareValues(a.value(sortKey.name()), b.value(sortKey.name()));
+        return reverse ? comparator.reversed() : comparator;
+    }
+
+    <R> Stream<R> page(Stream<R> stream, int pageCount, int pageLength) {
+
+        return pageLength > 0 ? stream.skip((long)(pageCount - 1) * pageLength).limit(pageLength) : stream;
+    }
+}
@@ -0,0 +1,47 @@
+package com.danifoldi.dataverse.database.memory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+public record Row(@NotNull String key,
+                  @NotNull Map<@NotNull String, @Nullable Object> values,
+                  @NotNull Instant createTimestamp,
+                  @NotNull Instant updateTimestamp,
+                  @Nullable Instant ttlTimestamp) {
+
+    public boolean alive(final @NotNull Instant now) {
+
+        return ttlTimestamp == null || !ttlTimestamp.isBefore(now);
+    }
+
+    public @Nullable Object value(final @NotNull String name) {
+
+        return values.get(name);
+    }
+
+    public boolean sameValues(final @NotNull Map<@NotNull String, @Nullable Object> other) {
+
+        for (Map.Entry<String, Object> entry: other.entrySet()) {
+
+            if (!Objects.equals(values.get(entry.getKey()), entry.getValue())) {
+
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public @NotNull Row withValues(final @NotNull Map<@NotNull String, @Nullable Object> values, final @NotNull Instant now) {
+
+        return new Row(key, values, createTimestamp, now, ttlTimestamp);
+    }
+
+    public @NotNull Row withTtl(final @Nullable Instant ttlTimestamp, final @NotNull Instant now) {
+
+        return new Row(key, values, createTimestamp, now, ttlTimestamp);
+    }
+}
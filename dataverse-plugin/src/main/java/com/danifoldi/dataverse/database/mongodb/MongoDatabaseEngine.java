@@ -0,0 +1,698 @@
+package com.danifoldi.dataverse.database.mongodb;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.PageToken;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.microbase.util.Pair;
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BsonField;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class MongoDatabaseEngine extends MongoOperations implements NamespacedDatabaseEngine {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Override
+    public void createNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createCollection(namespace);
+        createIndexes(namespace, indexes);
+    }
+
+    @Override
+    public void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createMultiCollection(namespace);
+        createIndexes(namespace, indexes);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> create(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Date now = new Date();
+            Document document = new Document(ColumnNames.KEY, key)
+                    .append(ColumnNames.CREATE_TIMESTAMP, now)
+                    .append(ColumnNames.UPDATE_TIMESTAMP, now)
+                    .append(ColumnNames.TTL_TIMESTAMP, null);
+            document.putAll(toDocument(value, fieldMap));
+
+            try {
+
+                collection(namespace).insertOne(document);
+                return true;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> add(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return create(namespace, key, value, fieldMap);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try {
+
+                return collection(namespace).find(where(key, null)).projection(Projections.include(ColumnNames.KEY)).limit(1).first() != null;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String namespace, String key, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try {
+
+                Document document = collection(namespace).find(where(key, null)).first();
+                return document == null ? null : fromDocument(document, empty, fieldMap);
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAll(String namespace, List<String> keys, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, T> values = new HashMap<>();
+            try {
+
+                for (Document document: collection(namespace).find(Filters.and(Filters.in(ColumnNames.KEY, keys), where(null, null)))) {
+
+                    values.put(document.getString(ColumnNames.KEY), fromDocument(document, instanceSupplier.get(), fieldMap));
+                }
+                return values;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return values;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace) {
+
+        return selectKeys(namespace, 0, 0, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength) {
+
+        return selectKeys(namespace, pageCount, pageLength, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return selectKeys(namespace, pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<String>> keys(String namespace, Supplier<T> instanceSupplier, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, sortKey == null ? Map.of() : Map.of(sortKey.name(), sortKey), null, pageLength, sortKey, reverse, token).thenApply(page -> page.map(Pair::getFirst));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<Pair<String, T>>> query(String namespace, @Nullable String key, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query) {
+
+        return select(namespace, instanceSupplier, fieldMap, key, query.filter() == null ? null : compile(query.filter()), query.pageCount(), query.pageLength(), query.sortKey(), query.reverse());
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<Pair<String, T>>> query(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, fieldMap, query.filter() == null ? null : compile(query.filter()), query.pageLength(), query.sortKey(), query.reverse(), token);
+    }
+
+    @Override
+    public CompletableFuture<Long> count(String namespace, @Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return selectCount(namespace, key, filter == null ? null : compile(filter), distinct);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BigDecimal> aggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Filter filter) {
+
+        return selectAggregate(namespace, key, aggregation, field, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BigDecimal>> aggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Filter filter) {
+
+        return selectAggregateBy(namespace, key, aggregation, field, groupBy, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> update(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            List<Bson> updates = new ArrayList<>();
+            updates.add(Updates.set(ColumnNames.UPDATE_TIMESTAMP, new Date()));
+            toDocument(value, fieldMap).forEach((name, field) -> updates.add(Updates.set(name, field)));
+
+            try {
+
+                return collection(namespace).updateMany(where(key, null), Updates.combine(updates)).getMatchedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> increment(String namespace, String key, FieldSpec field, BigDecimal delta) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Bson increment = Updates.combine(Updates.inc(field.name(), number(field, delta)), Updates.set(ColumnNames.UPDATE_TIMESTAMP, new Date()));
+            Bson start = Updates.combine(Updates.set(field.name(), number(field, delta)), Updates.set(ColumnNames.UPDATE_TIMESTAMP, new Date()));
+
+            try {
+
+                // $inc rejects null fields, those start from the delta instead, and a field filled in between is incremented again
+                MongoCollection<Document> collection = collection(namespace);
+                return collection.updateOne(Filters.and(where(key, null), Filters.ne(field.name(), null)), increment).getMatchedCount() > 0
+                        || collection.updateOne(Filters.and(where(key, null), Filters.eq(field.name(), null)), start).getMatchedCount() > 0
+                        || collection.updateOne(Filters.and(where(key, null), Filters.ne(field.name(), null)), increment).getMatchedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> compareAndSet(String namespace, String key, T expected, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            List<Bson> updates = new ArrayList<>();
+            updates.add(Updates.set(ColumnNames.UPDATE_TIMESTAMP, new Date()));
+            toDocument(value, fieldMap).forEach((name, field) -> updates.add(Updates.set(name, field)));
+
+            try {
+
+                return collection(namespace).updateOne(Filters.and(where(key, null), matching(expected, fieldMap)), Updates.combine(updates)).getMatchedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> createOrUpdate(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> upsert(namespace, key, value, fieldMap, true) != null, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getOrCreate(String namespace, String key, T value, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Document document = upsert(namespace, key, value, fieldMap, false);
+            return document == null ? null : fromDocument(document, empty, fieldMap);
+        }, executors.writes());
+    }
+
+    private <T> @Nullable Document upsert(String namespace, String key, T value, Map<String, FieldSpec> fieldMap, boolean overwrite) {
+
+        Date now = new Date();
+        List<Bson> updates = new ArrayList<>();
+        updates.add(Updates.setOnInsert(ColumnNames.CREATE_TIMESTAMP, now));
+        updates.add(Updates.setOnInsert(ColumnNames.TTL_TIMESTAMP, null));
+        updates.add(overwrite ? Updates.set(ColumnNames.UPDATE_TIMESTAMP, now) : Updates.setOnInsert(ColumnNames.UPDATE_TIMESTAMP, now));
+        toDocument(value, fieldMap).forEach((name, field) -> updates.add(overwrite ? Updates.set(name, field) : Updates.setOnInsert(name, field)));
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER);
+
+        try {
+
+            return collection(namespace).findOneAndUpdate(where(key, null), Updates.combine(updates), options);
+        } catch (MongoException e) {
+
+            if (e.getCode() != DUPLICATE_KEY) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }
+
+        try {
+
+            // an expired document the ttl monitor has not removed yet still holds the key
+            collection(namespace).deleteMany(Filters.and(Filters.eq(ColumnNames.KEY, key), Filters.lt(ColumnNames.TTL_TIMESTAMP, now)));
+            return collection(namespace).findOneAndUpdate(where(key, null), Updates.combine(updates), options);
+        } catch (MongoException e) {
+
+            logger.severe(e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try {
+
+                return collection(namespace).deleteMany(where(key, null)).getDeletedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> deleteWhere(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try {
+
+                return collection(namespace).deleteMany(Filters.and(where(key, null), matching(value, fieldMap))).getDeletedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String namespace, String key, Instant expiry) {
+
+        return expireWhere(namespace, key, null, expiry, Collections.emptyMap());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> expireWhere(String namespace, String key, T value, Instant expiry, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Bson update = Updates.combine(
+                    Updates.set(ColumnNames.TTL_TIMESTAMP, expiry == null ? null : Date.from(expiry)),
+                    Updates.set(ColumnNames.UPDATE_TIMESTAMP, new Date()));
+
+            try {
+
+                return collection(namespace).updateMany(Filters.and(Filters.eq(ColumnNames.KEY, key), matching(value, fieldMap)), update).getMatchedCount() > 0;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    private <T> CompletableFuture<List<Pair<String, T>>> select(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable String key, @Nullable Condition condition, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            ensureIndexes(namespace, condition);
+            ensureIndex(namespace, sortKey);
+
+            try {
+
+                FindIterable<Document> documents = collection(namespace).find(where(key, condition)).projection(selected(fieldMap));
+                if (sortKey != null) {
+
+                    documents = documents.sort(reverse ? Sorts.descending(sortKey.name()) : Sorts.ascending(sortKey.name()));
+                }
+                if (pageLength > 0) {
+
+                    documents = documents.skip((pageCount - 1) * pageLength).limit(pageLength);
+                }
+
+                List<Pair<String, T>> values = new ArrayList<>();
+                for (Document document: documents) {
+
+                    values.add(Pair.of(document.getString(ColumnNames.KEY), fromDocument(document, instanceSupplier.get(), fieldMap)));
+                }
+                return values;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    // only the fields that are mapped back are sent over, so projections do not pay for the others
+    private Bson selected(Map<String, FieldSpec> fieldMap) {
+
+        List<String> names = new ArrayList<>(fieldMap.keySet());
+        names.add(ColumnNames.KEY);
+        return Projections.include(names);
+    }
+
+    // pages continue from the last document read instead of skipping over an offset, so a deep page costs as much as the first
+    @SuppressWarnings("UnstableApiUsage")
+    private <T> CompletableFuture<Page<Pair<String, T>>> seek(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable Condition condition, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            if (pageLength <= 0) {
+
+                throw new IllegalArgumentException("Page length must be positive");
+            }
+            PageToken after = PageToken.decode(token, sortKey, reverse, translationEngine);
+
+            ensureIndexes(namespace, condition);
+            ensureIndex(namespace, sortKey);
+
+            List<Bson> filters = new ArrayList<>();
+            filters.add(where(null, condition));
+            if (after != null) {
+
+                filters.add(after(after));
+            }
+            List<Bson> sorts = new ArrayList<>();
+            if (sortKey != null) {
+
+                sorts.add(reverse ? Sorts.descending(sortKey.name()) : Sorts.ascending(sortKey.name()));
+            }
+            sorts.add(reverse ? Sorts.descending(ColumnNames.KEY) : Sorts.ascending(ColumnNames.KEY));
+
+            try {
+
+                List<Pair<String, T>> values = new ArrayList<>();
+                for (Document document: collection(namespace).find(Filters.and(filters)).projection(selected(fieldMap)).sort(Sorts.orderBy(sorts)).limit(pageLength + 1).batchSize(pageLength + 1)) {
+
+                    values.add(Pair.of(document.getString(ColumnNames.KEY), fromDocument(document, instanceSupplier.get(), fieldMap)));
+                }
+                return Page.of(values, pageLength, sortKey, reverse, translationEngine);
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return new Page<>(Collections.emptyList(), null);
+            }
+        }, executors.reads());
+    }
+
+    // null and missing values sort lowest, the key breaks ties between equal sort values
+    @SuppressWarnings("UnstableApiUsage")
+    private Bson after(PageToken after) {
+
+        if (after.sortKey() == null) {
+
+            return after.reverse() ? Filters.lt(ColumnNames.KEY, after.key()) : Filters.gt(ColumnNames.KEY, after.key());
+        }
+
+        String sort = after.sortKey().name();
+        if (after.value() == null) {
+
+            return after.reverse()
+                    ? Filters.and(Filters.eq(sort, null), Filters.lt(ColumnNames.KEY, after.key()))
+                    : Filters.or(Filters.ne(sort, null), Filters.gt(ColumnNames.KEY, after.key()));
+        }
+
+        Object value = toBson(after.value(), after.sortKey().type().toString());
+        return after.reverse()
+                ? Filters.or(Filters.and(Filters.lte(sort, value), Filters.or(Filters.lt(sort, value), Filters.lt(ColumnNames.KEY, after.key()))), Filters.eq(sort, null))
+                : Filters.and(Filters.gte(sort, value), Filters.or(Filters.gt(sort, value), Filters.gt(ColumnNames.KEY, after.key())));
+    }
+
+    private CompletableFuture<List<String>> selectKeys(String namespace, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            ensureIndex(namespace, sortKey);
+
+            List<Bson> pipeline = new ArrayList<>();
+            pipeline.add(Aggregates.match(where(null, null)));
+            if (sortKey == null) {
+
+                pipeline.add(Aggregates.group("$" + ColumnNames.KEY));
+            } else {
+
+                pipeline.add(Aggregates.group("$" + ColumnNames.KEY, reverse ? Accumulators.max("sort", "$" + sortKey.name()) : Accumulators.min("sort", "$" + sortKey.name())));
+                pipeline.add(Aggregates.sort(reverse ? Sorts.descending("sort") : Sorts.ascending("sort")));
+            }
+            if (pageLength > 0) {
+
+                pipeline.add(Aggregates.skip((pageCount - 1) * pageLength));
+                pipeline.add(Aggregates.limit(pageLength));
+            }
+
+            try {
+
+                List<String> keys = new ArrayList<>();
+                for (Document document: collection(namespace).aggregate(pipeline)) {
+
+                    keys.add(document.getString("_id"));
+                }
+                return keys;
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<Long> selectCount(String namespace, @Nullable String key, @Nullable Condition condition, boolean distinct) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            ensureIndexes(namespace, condition);
+
+            List<Bson> pipeline = new ArrayList<>();
+            pipeline.add(Aggregates.match(where(key, condition)));
+            if (distinct) {
+
+                pipeline.add(Aggregates.group("$" + ColumnNames.KEY));
+            }
+            pipeline.add(Aggregates.count("count"));
+
+            try {
+
+                Document result = collection(namespace).aggregate(pipeline).first();
+                return result == null ? 0L : ((Number)result.get("count")).longValue();
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return 0L;
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<@Nullable BigDecimal> selectAggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            ensureIndexes(namespace, condition);
+
+            List<Bson> pipeline = List.of(
+                    Aggregates.match(Filters.and(where(key, condition), Filters.ne(field.name(), null))),
+                    Aggregates.group(null, accumulator(aggregation, field)));
+
+            try {
+
+                Document result = collection(namespace).aggregate(pipeline).first();
+                return result == null || result.get("aggregate") == null ? aggregation.empty() : decimal(result.get("aggregate"));
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return aggregation.empty();
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<Map<String, BigDecimal>> selectAggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            ensureIndexes(namespace, condition);
+
+            List<Bson> pipeline = List.of(
+                    Aggregates.match(Filters.and(where(key, condition), Filters.ne(field.name(), null), Filters.ne(groupBy.name(), null))),
+                    Aggregates.group("$" + groupBy.name(), accumulator(aggregation, field)));
+
+            try {
+
+                Map<String, BigDecimal> groups = new HashMap<>();
+                for (Document result: collection(namespace).aggregate(pipeline)) {
+
+                    if (result.get("_id") != null && result.get("aggregate") != null) {
+
+                        groups.put(String.valueOf(result.get("_id")), decimal(result.get("aggregate")));
+                    }
+                }
+                return Map.copyOf(groups);
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyMap();
+            }
+        }, executors.reads());
+    }
+
+    // missing values are matched out beforehand, so counting is summing ones
+    private BsonField accumulator(Aggregation aggregation, FieldSpec field) {
+
+        String value = "$" + field.name();
+        return switch (aggregation) {
+
+            case MIN -> Accumulators.min("aggregate", value);
+            case MAX -> Accumulators.max("aggregate", value);
+            case AVG -> Accumulators.avg("aggregate", value);
+            case COUNT -> Accumulators.sum("aggregate", 1);
+            case SUM -> Accumulators.sum("aggregate", value);
+        };
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private Number number(FieldSpec field, BigDecimal delta) {
+
+        return switch (field.type().toString()) {
+
+            case "int", "java.lang.Integer", "short", "java.lang.Short", "byte", "java.lang.Byte" -> delta.intValue();
+            case "long", "java.lang.Long" -> delta.longValue();
+            case "float", "java.lang.Float", "double", "java.lang.Double" -> delta.doubleValue();
+            default -> new Decimal128(delta);
+        };
+    }
+
+    private Bson where(@Nullable String key, @Nullable Condition condition) {
+
+        List<Bson> filters = new ArrayList<>();
+        if (key != null) {
+
+            filters.add(Filters.eq(ColumnNames.KEY, key));
+        }
+        filters.add(Filters.or(Filters.gte(ColumnNames.TTL_TIMESTAMP, new Date()), Filters.eq(ColumnNames.TTL_TIMESTAMP, null)));
+        if (condition != null) {
+
+            filters.add(condition.filter());
+        }
+        return Filters.and(filters);
+    }
+
+    private Bson matching(@Nullable Object value, Map<String, FieldSpec> fieldMap) {
+
+        if (value == null || fieldMap.isEmpty()) {
+
+            return new Document();
+        }
+        return Filters.and(toDocument(value, fieldMap).entrySet().stream().map(entry -> Filters.eq(entry.getKey(), entry.getValue())).toList());
+    }
+
+    // the filter tree becomes one query document, every field it touches gets an index
+    private Condition compile(Filter filter) {
+
+        if (filter instanceof Filter.Min min) {
+
+            return new Condition(List.of(min.field()), Filters.gte(min.field().name(), new Decimal128(min.cutoff())));
+        }
+        if (filter instanceof Filter.Max max) {
+
+            return new Condition(List.of(max.field()), Filters.lte(max.field().name(), new Decimal128(max.cutoff())));
+        }
+        if (filter instanceof Filter.Equals equals) {
+
+            return new Condition(List.of(equals.field()), Filters.eq(equals.field().name(), operand(equals.value())));
+        }
+        if (filter instanceof Filter.In in) {
+
+            return new Condition(List.of(in.field()), Filters.in(in.field().name(), in.values().stream().map(this::operand).toList()));
+        }
+        if (filter instanceof Filter.Prefix prefix) {
+
+            // an anchored literal prefix lets the server answer the regex from the field index
+            return new Condition(List.of(prefix.field()), Filters.regex(prefix.field().name(), "^" + prefix.prefix().replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0")));
+        }
+        if (filter instanceof Filter.And and) {
+
+            List<Condition> conditions = and.filters().stream().map(this::compile).toList();
+            // an empty $and is rejected by the server, an empty document matches everything
+            return new Condition(fields(conditions), conditions.isEmpty() ? new Document() : Filters.and(conditions.stream().map(Condition::filter).toList()));
+        }
+        if (filter instanceof Filter.Or or) {
+
+            List<Condition> conditions = or.filters().stream().map(this::compile).toList();
+            return new Condition(fields(conditions), conditions.isEmpty() ? Filters.in(ColumnNames.KEY, List.of()) : Filters.or(conditions.stream().map(Condition::filter).toList()));
+        }
+        throw new IllegalArgumentException("Unsupported filter " + filter);
+    }
+
+    private List<FieldSpec> fields(List<Condition> conditions) {
+
+        return conditions.stream().flatMap(condition -> condition.fields().stream()).distinct().toList();
+    }
+
+    private Object operand(Object value) {
+
+        return value instanceof BigDecimal decimal ? new Decimal128(decimal) : value;
+    }
+
+    private void ensureIndexes(String namespace, @Nullable Condition condition) {
+
+        if (condition != null) {
+
+            condition.fields().forEach(field -> ensureIndex(namespace, field));
+        }
+    }
+
+    private record Condition(List<FieldSpec> fields, Bson filter) {}
+}
@@ -0,0 +1,279 @@
+package com.danifoldi.dataverse.database.mongodb;
+
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.database.DatabaseEngine;
+import com.danifoldi.dataverse.database.EngineExecutors;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+public class MongoOperations implements DatabaseEngine {
+
+    protected MongoClient client;
+    protected MongoDatabase database;
+    protected TranslationEngine translationEngine;
+    protected Logger logger;
+    protected EngineExecutors executors;
+    private final @NotNull Set<@NotNull String> indexes = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void setLogger(@NotNull Logger logger) {
+
+        this.logger = logger;
+    }
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        int poolSize = Integer.parseInt(config.getOrDefault("mongodb_pool_size", "16"));
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(config.getOrDefault("mongodb_connection_string", "mongodb://localhost:27017")))
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(poolSize))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(5000, TimeUnit.MILLISECONDS))
+                .applicationName("DataVerse")
+                .build();
+
+        close();
+
+        client = MongoClients.create(settings);
+        database = client.getDatabase(config.getOrDefault("mongodb_database", "dataverse"));
+        startExecutors(EngineExecutors.forSharedPool("MongoDB", config, poolSize));
+    }
+
+    private void startExecutors(@NotNull EngineExecutors executors) {
+
+        if (this.executors != null) {
+
+            this.executors.shutdown();
+        }
+
+        this.executors = executors;
+    }
+
+    @Override
+    public void close() {
+
+        if (executors != null) {
+
+            executors.shutdown();
+        }
+        if (client != null) {
+
+            client.close();
+        }
+        indexes.clear();
+    }
+
+    String collectionName(String namespace) {
+
+        return "%s__dataverse".formatted(namespace).toLowerCase(Locale.ROOT).replaceAll("\s", "").replace(".",  "_");
+    }
+
+    MongoCollection<Document> collection(String namespace) {
+
+        return database.getCollection(collectionName(namespace));
+    }
+
+    void createCollection(String namespace) {
+
+        createIndexes(namespace, true);
+    }
+
+    void createMultiCollection(String namespace) {
+
+        createIndexes(namespace, false);
+    }
+
+    private void createIndexes(String namespace, boolean unique) {
+
+        CompletableFuture.runAsync(() -> runCreateIndexes(namespace, unique), executors.ddl()).join();
+    }
+
+    private void runCreateIndexes(String namespace, boolean unique) {
+
+        try {
+
+            MongoCollection<Document> collection = collection(namespace);
+            collection.createIndex(Indexes.ascending(ColumnNames.KEY), new IndexOptions().unique(unique));
+            // documents are removed by the server once their ttl passes, documents without a ttl are kept
+            collection.createIndex(Indexes.ascending(ColumnNames.TTL_TIMESTAMP), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS));
+        } catch (MongoException e) {
+
+            logger.severe(e.getMessage());
+        }
+    }
+
+    // indexes declared with @Indexed, the server builds them without blocking the collection
+    void createIndexes(String namespace, List<IndexSpec> declared) {
+
+        CompletableFuture.runAsync(() -> runCreateIndexes(namespace, declared), executors.ddl()).join();
+    }
+
+    private void runCreateIndexes(String namespace, List<IndexSpec> declared) {
+
+        for (IndexSpec index: declared) {
+
+            try {
+
+                collection(namespace).createIndex(Indexes.ascending(index.fields().stream().map(FieldSpec::name).toList()));
+                if (index.fields().size() == 1) {
+
+                    // sorted reads on the field find it already there
+                    indexes.add("%s.%s".formatted(namespace, index.fields().get(0).name()));
+                }
+            } catch (MongoException e) {
+
+                logger.severe(e.getMessage());
+            }
+        }
+    }
+
+    void ensureIndex(String namespace, @Nullable FieldSpec spec) {
+
+        if (spec == null || !indexes.add("%s.%s".formatted(namespace, spec.name()))) {
+
+            return;
+        }
+
+        // queries do not wait for the index, they are answered without it until the build finishes
+        executors.ddl().execute(() -> {
+
+            try {
+
+                collection(namespace).createIndex(Indexes.ascending(spec.name()));
+            } catch (MongoException e) {
+
+                indexes.remove("%s.%s".formatted(namespace, spec.name()));
+                logger.severe(e.getMessage());
+            }
+        });
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    Document toDocument(Object value, Map<String, FieldSpec> fieldMap) {
+
+        Document document = new Document();
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                document.append(name, toBson(spec.reflect().get(value), spec.type().toString()));
+            } catch (ReflectiveOperationException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return document;
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    <T> T fromDocument(Document document, T value, Map<String, FieldSpec> fieldMap) {
+
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                spec.reflect().set(value, fromBson(document.get(name), spec.type().toString()));
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return value;
+    }
+
+    @Nullable Object toBson(@Nullable Object value, String javaType) {
+
+        Function<Object, String> encoder = translationEngine.getJavaTypeToString(javaType);
+        if (value == null) {
+
+            return null;
+        }
+        if (encoder != null) {
+
+            return encoder.apply(value);
+        }
+        if (value instanceof Byte || value instanceof Short) {
+
+            return ((Number)value).intValue();
+        }
+        if (value instanceof Float number) {
+
+            return number.doubleValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+
+            return new Decimal128(decimal);
+        }
+        if (value instanceof Character || value instanceof UUID) {
+
+            return value.toString();
+        }
+        return value;
+    }
+
+    @Nullable Object fromBson(@Nullable Object value, String javaType) {
+
+        Function<String, Object> decoder = translationEngine.getStringToJavaType(javaType);
+        if (value == null) {
+
+            return null;
+        }
+        if (decoder != null) {
+
+            return decoder.apply(value.toString());
+        }
+        return switch (javaType) {
+
+            case "int", "java.lang.Integer" -> ((Number)value).intValue();
+            case "long", "java.lang.Long" -> ((Number)value).longValue();
+            case "short", "java.lang.Short" -> ((Number)value).shortValue();
+            case "byte", "java.lang.Byte" -> ((Number)value).byteValue();
+            case "float", "java.lang.Float" -> ((Number)value).floatValue();
+            case "double", "java.lang.Double" -> ((Number)value).doubleValue();
+            case "char", "java.lang.Character" -> value.toString().charAt(0);
+            case "java.math.BigDecimal" -> decimal(value);
+            case "java.util.UUID" -> UUID.fromString(value.toString());
+            default -> value;
+        };
+    }
+
+    BigDecimal decimal(@Nullable Object value) {
+
+        if (value instanceof Decimal128 decimal) {
+
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
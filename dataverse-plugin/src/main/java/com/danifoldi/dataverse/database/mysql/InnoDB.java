@@ -0,0 +1,34 @@
+package com.danifoldi.dataverse.database.mysql;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// limits innodb puts on indexes, shared by the mysql and mariadb engines
+public class InnoDB {
+
+    private static final int INDEX_PREFIX = 191;
+    private static final int IDENTIFIER_LENGTH = 64;
+    private static final Pattern TEXT_COLUMN = Pattern.compile("^(?:VAR(?:CHAR|BINARY)\\((\\d+)\\)|\\w*(?:TEXT|BLOB))", Pattern.CASE_INSENSITIVE);
+
+    // keys are at most 3072 bytes, 191 characters of utf8mb4 leave room for a few text fields in one index
+    public static @NotNull String indexColumn(final @NotNull String column, final @Nullable String columnType) {
+
+        Matcher matcher = TEXT_COLUMN.matcher(columnType == null ? "TEXT" : columnType);
+        boolean prefixed = matcher.find() && (matcher.group(1) == null || Integer.parseInt(matcher.group(1)) > INDEX_PREFIX);
+        return prefixed ? "%s(%d)".formatted(column, INDEX_PREFIX) : column;
+    }
+
+    // identifiers are at most 64 characters, longer ones are cut and end in a hash of the whole name to stay unique
+    public static @NotNull String identifier(final @NotNull String name) {
+
+        if (name.length() <= IDENTIFIER_LENGTH) {
+
+            return name;
+        }
+        String hash = "%08x".formatted(name.hashCode());
+        return "%s_%s".formatted(name.substring(0, IDENTIFIER_LENGTH - hash.length() - 1), hash);
+    }
+}
@@ -0,0 +1,936 @@
+package com.danifoldi.dataverse.database.redis;
+
+import com.danifoldi.dataverse.data.Aggregation;
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Filter;
+import com.danifoldi.dataverse.data.IndexSpec;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.PageToken;
+import com.danifoldi.dataverse.data.Query;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ZAddParams;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RedisDatabaseEngine extends RedisOperations implements NamespacedDatabaseEngine {
+
+    // creating and reading back happen in one script, so no other client sees the hash half written
+    private static final String GET_OR_CREATE = """
+            if redis.call('exists', KEYS[1]) == 0 then
+              for i = 4, #ARGV, 2 do
+                redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1])
+              end
+              redis.call('zremrangebyscore', KEYS[2], '-inf', '(' .. ARGV[2])
+              redis.call('zadd', KEYS[2], ARGV[3], ARGV[1])
+            end
+            return redis.call('hgetall', KEYS[1])
+            """;
+
+    // HINCRBY would create a missing hash, so the existence check runs in the same script
+    private static final String INCREMENT = """
+            if redis.call('exists', KEYS[1]) == 0 then
+              return 0
+            end
+            redis.call(ARGV[1], KEYS[1], ARGV[2], ARGV[3])
+            redis.call('hset', KEYS[1], ARGV[4], ARGV[5])
+            return 1
+            """;
+
+    @Override
+    public void createNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createNamespace(namespace);
+    }
+
+    @Override
+    public void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap, List<IndexSpec> indexes) {
+
+        createMultiNamespace(namespace, fieldMap);
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> create(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Instant now = Instant.now();
+            Map<String, String> hash = withTimestamps(toHash(value, fieldMap), now, true);
+
+            try (Jedis jedis = pool.getResource()) {
+
+                if (jedis.hsetnx(hashKey(namespace, key), ColumnNames.CREATE_TIMESTAMP, hash.get(ColumnNames.CREATE_TIMESTAMP)) == 0) {
+
+                    return false;
+                }
+
+                Pipeline pipeline = jedis.pipelined();
+                pipeline.hset(hashKey(namespace, key), hash);
+                pipeline.zadd(keysKey(namespace), score(null), key);
+                pipeline.zremrangeByScore(keysKey(namespace), "-inf", "(" + now.toEpochMilli());
+                pipeline.sync();
+                return true;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> add(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Instant now = Instant.now();
+            Map<String, String> hash = withTimestamps(toHash(value, fieldMap), now, true);
+
+            try (Jedis jedis = pool.getResource()) {
+
+                String id = String.valueOf(jedis.incr(sequenceKey(namespace)));
+                Double expiry = jedis.zscore(keysKey(namespace), key);
+                if (expiry != null && expiry != score(null)) {
+
+                    // the new entry must outlive a key wide expiry, so the existing entries take over the expiry one by one
+                    persist(jedis, namespace, key, expiry);
+                }
+
+                Pipeline pipeline = jedis.pipelined();
+                pipeline.hset(entryKey(namespace, key, id), hash);
+                pipeline.zadd(entriesKey(namespace, key), Double.parseDouble(id), id);
+                index(pipeline, namespace, key, id, hash);
+                pipeline.zadd(keysKey(namespace), score(null), key);
+                pipeline.zremrangeByScore(keysKey(namespace), "-inf", "(" + now.toEpochMilli());
+                pipeline.sync();
+                return true;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                if (!multi(namespace)) {
+
+                    return jedis.exists(hashKey(namespace, key));
+                }
+
+                // expired entries are only purged on the next full read, so they are subtracted instead
+                Pipeline pipeline = jedis.pipelined();
+                Response<Long> entries = pipeline.zcard(entriesKey(namespace, key));
+                Response<Long> expired = pipeline.zcount(ttlKey(namespace, key), "-inf", "(" + Instant.now().toEpochMilli());
+                pipeline.sync();
+                return entries.get() > expired.get();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String namespace, String key, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                Map<String, String> hash = jedis.hgetAll(hashKey(namespace, key));
+                return hash.isEmpty() ? null : fromHash(hash, empty, fieldMap);
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAll(String namespace, List<String> keys, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, T> values = new HashMap<>();
+            try (Jedis jedis = pool.getResource()) {
+
+                Pipeline pipeline = jedis.pipelined();
+                List<Response<Map<String, String>>> hashes = keys.stream().map(key -> pipeline.hgetAll(hashKey(namespace, key))).toList();
+                pipeline.sync();
+                for (int i = 0; i < keys.size(); i++) {
+
+                    Map<String, String> hash = hashes.get(i).get();
+                    if (!hash.isEmpty()) {
+
+                        values.put(keys.get(i), fromHash(hash, instanceSupplier.get(), fieldMap));
+                    }
+                }
+                return values;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return values;
+            }
+        }, executors.reads());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace) {
+
+        return selectKeys(namespace, 0, 0, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength) {
+
+        return selectKeys(namespace, pageCount, pageLength, null, false);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(String namespace, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return selectKeys(namespace, pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<String>> keys(String namespace, Supplier<T> instanceSupplier, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, sortKey == null ? Map.of() : Map.of(sortKey.name(), sortKey), null, pageLength, sortKey, reverse, token).thenApply(page -> page.map(Pair::getFirst));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<Pair<String, T>>> query(String namespace, @Nullable String key, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query) {
+
+        return select(namespace, instanceSupplier, fieldMap, key, query.filter() == null ? null : compile(query.filter()), query.pageCount(), query.pageLength(), query.sortKey(), query.reverse());
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<Pair<String, T>>> query(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, Query query, @Nullable String token) {
+
+        return seek(namespace, instanceSupplier, fieldMap, query.filter() == null ? null : compile(query.filter()), query.pageLength(), query.sortKey(), query.reverse(), token);
+    }
+
+    @Override
+    public CompletableFuture<Long> count(String namespace, @Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return selectCount(namespace, key, filter == null ? null : compile(filter), distinct);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable BigDecimal> aggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Filter filter) {
+
+        return selectAggregate(namespace, key, aggregation, field, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, BigDecimal>> aggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Filter filter) {
+
+        return selectAggregateBy(namespace, key, aggregation, field, groupBy, filter == null ? null : compile(filter));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> update(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, String> hash = withTimestamps(toHash(value, fieldMap), Instant.now(), false);
+            List<String> cleared = fieldMap.keySet().stream().filter(name -> !hash.containsKey(name)).toList();
+
+            try (Jedis jedis = pool.getResource()) {
+
+                List<Entry> entries = multi(namespace) ? entries(jedis, namespace, key) : List.of(new Entry(key, key, Map.of()));
+                if (!multi(namespace) && !jedis.hexists(hashKey(namespace, key), ColumnNames.CREATE_TIMESTAMP)) {
+
+                    return false;
+                }
+
+                Pipeline pipeline = jedis.pipelined();
+                for (Entry entry: entries) {
+
+                    String entryKey = multi(namespace) ? entryKey(namespace, key, entry.id()) : hashKey(namespace, key);
+                    pipeline.hset(entryKey, hash);
+                    if (!cleared.isEmpty()) {
+
+                        pipeline.hdel(entryKey, cleared.toArray(String[]::new));
+                    }
+                    if (multi(namespace)) {
+
+                        unindex(pipeline, namespace, key, entry.id(), entry.hash());
+                        index(pipeline, namespace, key, entry.id(), hash);
+                    }
+                }
+                pipeline.sync();
+                return !entries.isEmpty();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    @Override
+    public CompletableFuture<Boolean> increment(String namespace, String key, FieldSpec field, BigDecimal delta) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            boolean integral = switch (field.type().toString()) {
+
+                case "int", "java.lang.Integer", "long", "java.lang.Long", "short", "java.lang.Short", "byte", "java.lang.Byte" -> true;
+                default -> false;
+            };
+            List<String> arguments = List.of(integral ? "hincrby" : "hincrbyfloat", field.name(), integral ? String.valueOf(delta.longValue()) : delta.toPlainString(),
+                    ColumnNames.UPDATE_TIMESTAMP, String.valueOf(Instant.now().toEpochMilli()));
+
+            try (Jedis jedis = pool.getResource()) {
+
+                return Long.valueOf(1).equals(jedis.eval(INCREMENT, List.of(hashKey(namespace, key)), arguments));
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> compareAndSet(String namespace, String key, T expected, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, String> current = toHash(expected, fieldMap);
+            Map<String, String> hash = withTimestamps(toHash(value, fieldMap), Instant.now(), false);
+            List<String> cleared = fieldMap.keySet().stream().filter(name -> !hash.containsKey(name)).toList();
+
+            try (Jedis jedis = pool.getResource()) {
+
+                // the transaction is discarded if another client touches the hash after it was compared
+                jedis.watch(hashKey(namespace, key));
+                Map<String, String> stored = jedis.hgetAll(hashKey(namespace, key));
+                if (stored.isEmpty() || fieldMap.keySet().stream().anyMatch(name -> !Objects.equals(stored.get(name), current.get(name)))) {
+
+                    jedis.unwatch();
+                    return false;
+                }
+
+                Transaction transaction = jedis.multi();
+                transaction.hset(hashKey(namespace, key), hash);
+                if (!cleared.isEmpty()) {
+
+                    transaction.hdel(hashKey(namespace, key), cleared.toArray(String[]::new));
+                }
+                return transaction.exec() != null;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> createOrUpdate(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Instant now = Instant.now();
+            Map<String, String> hash = withTimestamps(toHash(value, fieldMap), now, false);
+            List<String> cleared = fieldMap.keySet().stream().filter(name -> !hash.containsKey(name)).toList();
+
+            try (Jedis jedis = pool.getResource()) {
+
+                // expired hashes are already gone, so the create timestamp is only set for new keys and the expiry of live ones is kept
+                Transaction transaction = jedis.multi();
+                transaction.hsetnx(hashKey(namespace, key), ColumnNames.CREATE_TIMESTAMP, String.valueOf(now.toEpochMilli()));
+                transaction.hset(hashKey(namespace, key), hash);
+                if (!cleared.isEmpty()) {
+
+                    transaction.hdel(hashKey(namespace, key), cleared.toArray(String[]::new));
+                }
+                transaction.zremrangeByScore(keysKey(namespace), "-inf", "(" + now.toEpochMilli());
+                transaction.zadd(keysKey(namespace), score(null), key, ZAddParams.zAddParams().nx());
+                return transaction.exec() != null;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getOrCreate(String namespace, String key, T value, T empty, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Instant now = Instant.now();
+            List<String> arguments = new ArrayList<>(List.of(key, String.valueOf(now.toEpochMilli()), "+inf"));
+            withTimestamps(toHash(value, fieldMap), now, true).forEach((name, field) -> {
+
+                arguments.add(name);
+                arguments.add(field);
+            });
+
+            try (Jedis jedis = pool.getResource()) {
+
+                @SuppressWarnings("unchecked")
+                List<String> hash = (List<String>)jedis.eval(GET_OR_CREATE, List.of(hashKey(namespace, key), keysKey(namespace)), arguments);
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i + 1 < hash.size(); i += 2) {
+
+                    fields.put(hash.get(i), hash.get(i + 1));
+                }
+                return fields.isEmpty() ? null : fromHash(fields, empty, fieldMap);
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return null;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String namespace, String key) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                if (!multi(namespace)) {
+
+                    Pipeline pipeline = jedis.pipelined();
+                    Response<Long> deleted = pipeline.del(hashKey(namespace, key));
+                    pipeline.zrem(keysKey(namespace), key);
+                    pipeline.sync();
+                    return deleted.get() > 0;
+                }
+
+                List<String> ids = jedis.zrange(entriesKey(namespace, key), 0, -1);
+                Pipeline pipeline = jedis.pipelined();
+                ids.forEach(id -> pipeline.del(entryKey(namespace, key, id)));
+                pipeline.del(structures(namespace, key).toArray(String[]::new));
+                pipeline.zrem(keysKey(namespace), key);
+                pipeline.sync();
+                return !ids.isEmpty();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> deleteWhere(String namespace, String key, T value, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, String> hash = toHash(value, fieldMap);
+
+            try (Jedis jedis = pool.getResource()) {
+
+                List<Entry> entries = entries(jedis, namespace, key).stream().filter(entry -> matches(entry, hash, fieldMap)).toList();
+                Pipeline pipeline = jedis.pipelined();
+                for (Entry entry: entries) {
+
+                    if (multi(namespace)) {
+
+                        unindex(pipeline, namespace, key, entry.id(), entry.hash());
+                        pipeline.del(entryKey(namespace, key, entry.id()));
+                        pipeline.zrem(entriesKey(namespace, key), entry.id());
+                        pipeline.zrem(ttlKey(namespace, key), entry.id());
+                    } else {
+
+                        pipeline.del(hashKey(namespace, key));
+                        pipeline.zrem(keysKey(namespace), key);
+                    }
+                }
+                pipeline.sync();
+
+                if (multi(namespace) && !entries.isEmpty()) {
+
+                    forgetEmpty(jedis, namespace, List.of(key));
+                }
+                return !entries.isEmpty();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expire(String namespace, String key, Instant expiry) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                return expireKey(jedis, namespace, key, expiry);
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> expireWhere(String namespace, String key, T value, Instant expiry, Map<String, FieldSpec> fieldMap) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            Map<String, String> hash = toHash(value, fieldMap);
+
+            try (Jedis jedis = pool.getResource()) {
+
+                List<Entry> entries = entries(jedis, namespace, key).stream().filter(entry -> matches(entry, hash, fieldMap)).toList();
+                if (entries.isEmpty()) {
+
+                    return false;
+                }
+                if (!multi(namespace)) {
+
+                    return expireKey(jedis, namespace, key, expiry);
+                }
+
+                Pipeline pipeline = jedis.pipelined();
+                for (Entry entry: entries) {
+
+                    if (expiry == null) {
+
+                        pipeline.zrem(ttlKey(namespace, key), entry.id());
+                    } else {
+
+                        pipeline.zadd(ttlKey(namespace, key), expiry.toEpochMilli(), entry.id());
+                    }
+                }
+                pipeline.sync();
+                return true;
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return false;
+            }
+        }, executors.writes());
+    }
+
+    private <T> CompletableFuture<List<Pair<String, T>>> select(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable String key, @Nullable Condition condition, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                List<Entry> entries;
+                if (multi(namespace) && key != null && condition == null) {
+
+                    entries = range(jedis, namespace, key, pageCount, pageLength, sortKey, reverse);
+                } else {
+
+                    Stream<Entry> stream = entries(jedis, namespace, key).stream().filter(condition == null ? entry -> true : condition::test);
+                    if (sortKey != null) {
+
+                        stream = stream.sorted(sortBy(sortKey, reverse));
+                    }
+                    entries = page(stream, pageCount, pageLength).toList();
+                }
+
+                return entries.stream().map(entry -> Pair.of(entry.key(), fromHash(entry.hash(), instanceSupplier.get(), fieldMap))).toList();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    // hashes hold no index to seek on, the token keeps the order stable between pages while rows come and go
+    @SuppressWarnings("UnstableApiUsage")
+    private <T> CompletableFuture<Page<Pair<String, T>>> seek(String namespace, Supplier<T> instanceSupplier, Map<String, FieldSpec> fieldMap, @Nullable Condition condition, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            if (pageLength <= 0) {
+
+                throw new IllegalArgumentException("Page length must be positive");
+            }
+            PageToken after = PageToken.decode(token, sortKey, reverse, translationEngine);
+
+            Comparator<Entry> order = sortKey == null ? Comparator.comparing(Entry::key) : sortBy(sortKey, false).thenComparing(Entry::key);
+            if (reverse) {
+
+                order = order.reversed();
+            }
+
+            try (Jedis jedis = pool.getResource()) {
+
+                Stream<Entry> stream = entries(jedis, namespace, null).stream().filter(condition == null ? entry -> true : condition::test);
+                if (after != null) {
+
+                    String value = sortKey == null ? null : encode(after.value(), sortKey.type().toString());
+                    Entry last = new Entry(after.key(), after.key(), sortKey == null || value == null ? Map.of() : Map.of(sortKey.name(), value));
+                    Comparator<Entry> position = order;
+                    stream = stream.filter(entry -> position.compare(entry, last) > 0);
+                }
+
+                List<Pair<String, T>> values = stream.sorted(order).limit(pageLength + 1)
+                        .map(entry -> Pair.of(entry.key(), fromHash(entry.hash(), instanceSupplier.get(), fieldMap))).toList();
+                return Page.of(values, pageLength, sortKey, reverse, translationEngine);
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return new Page<>(Collections.emptyList(), null);
+            }
+        }, executors.reads());
+    }
+
+    // entries of a multi key are kept in sorted sets per field, so sorted pages are answered by a single range read
+    private List<Entry> range(Jedis jedis, String namespace, String key, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        purge(jedis, namespace, List.of(key));
+        long start = pageLength > 0 ? (long)(pageCount - 1) * pageLength : 0;
+        long stop = pageLength > 0 ? start + pageLength - 1 : -1;
+
+        List<String> ids;
+        if (sortKey == null) {
+
+            ids = jedis.zrange(entriesKey(namespace, key), start, stop);
+        } else {
+
+            String sortKeyName = sortKey(namespace, key, sortKey.name());
+            List<String> members = reverse ? jedis.zrevrange(sortKeyName, start, stop) : jedis.zrange(sortKeyName, start, stop);
+            ids = numeric(sortKey) ? members : members.stream().map(this::sortMemberId).toList();
+        }
+        return hashes(jedis, ids.stream().map(id -> new Entry(key, id, Map.of())).toList(), entry -> entryKey(namespace, key, entry.id()));
+    }
+
+    private CompletableFuture<List<String>> selectKeys(String namespace, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                if (multi(namespace)) {
+
+                    purge(jedis, namespace, aliveKeys(jedis, namespace));
+                }
+                if (sortKey == null) {
+
+                    String now = "(" + Instant.now().toEpochMilli();
+                    return pageLength > 0
+                            ? jedis.zrangeByScore(keysKey(namespace), now, "+inf", (pageCount - 1) * pageLength, pageLength)
+                            : jedis.zrangeByScore(keysKey(namespace), now, "+inf");
+                }
+
+                Map<String, List<Entry>> byKey = entries(jedis, namespace, null).stream().collect(Collectors.groupingBy(Entry::key));
+                Comparator<Entry> comparator = sortBy(sortKey, false);
+                Comparator<List<Entry>> order = reverse
+                        ? Comparator.comparing((List<Entry> entries) -> entries.stream().max(comparator).orElseThrow(), comparator).reversed()
+                        : Comparator.comparing((List<Entry> entries) -> entries.stream().min(comparator).orElseThrow(), comparator);
+                return page(byKey.values().stream().sorted(order), pageCount, pageLength).map(entries -> entries.get(0).key()).toList();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyList();
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<Long> selectCount(String namespace, @Nullable String key, @Nullable Condition condition, boolean distinct) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                if (multi(namespace) && key == null) {
+
+                    purge(jedis, namespace, aliveKeys(jedis, namespace));
+                }
+                if (condition == null && (distinct || !multi(namespace))) {
+
+                    return key == null
+                            ? jedis.zcount(keysKey(namespace), "(" + Instant.now().toEpochMilli(), "+inf")
+                            : entries(jedis, namespace, key).isEmpty() ? 0L : 1L;
+                }
+                if (condition == null) {
+
+                    List<String> keys = key == null ? aliveKeys(jedis, namespace) : List.of(key);
+                    purge(jedis, namespace, keys);
+                    Pipeline pipeline = jedis.pipelined();
+                    List<Response<Long>> sizes = keys.stream().map(k -> pipeline.zcard(entriesKey(namespace, k))).toList();
+                    pipeline.sync();
+                    return sizes.stream().mapToLong(Response::get).sum();
+                }
+
+                Stream<Entry> entries = entries(jedis, namespace, key).stream().filter(condition::test);
+                return distinct ? entries.map(Entry::key).distinct().count() : entries.count();
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return 0L;
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<@Nullable BigDecimal> selectAggregate(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                return aggregation.apply(entries(jedis, namespace, key).stream()
+                        .filter(condition == null ? entry -> true : condition::test)
+                        .map(entry -> operand(aggregation, entry.hash().get(field.name()))));
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return aggregation.empty();
+            }
+        }, executors.reads());
+    }
+
+    private CompletableFuture<Map<String, BigDecimal>> selectAggregateBy(String namespace, @Nullable String key, Aggregation aggregation, FieldSpec field, FieldSpec groupBy, @Nullable Condition condition) {
+
+        return CompletableFuture.supplyAsync(() -> {
+
+            try (Jedis jedis = pool.getResource()) {
+
+                Map<String, List<Entry>> entries = entries(jedis, namespace, key).stream()
+                        .filter(condition == null ? entry -> true : condition::test)
+                        .filter(entry -> entry.hash().get(groupBy.name()) != null)
+                        .collect(Collectors.groupingBy(entry -> entry.hash().get(groupBy.name())));
+
+                Map<String, BigDecimal> groups = new HashMap<>();
+                entries.forEach((group, members) -> {
+
+                    BigDecimal value = aggregation.apply(members.stream().map(entry -> operand(aggregation, entry.hash().get(field.name()))));
+                    if (value != null) {
+
+                        groups.put(group, value);
+                    }
+                });
+                return Map.copyOf(groups);
+            } catch (JedisException e) {
+
+                logger.severe(e.getMessage());
+                return Collections.emptyMap();
+            }
+        }, executors.reads());
+    }
+
+    // count only needs a value to be there, whatever its type
+    private @Nullable BigDecimal operand(Aggregation aggregation, @Nullable String value) {
+
+        if (aggregation == Aggregation.COUNT) {
+
+            return value == null ? null : BigDecimal.ONE;
+        }
+        return number(value);
+    }
+
+    private boolean expireKey(Jedis jedis, String namespace, String key, @Nullable Instant expiry) {
+
+        List<String> targets = new ArrayList<>();
+        if (multi(namespace)) {
+
+            List<String> ids = jedis.zrange(entriesKey(namespace, key), 0, -1);
+            ids.forEach(id -> targets.add(entryKey(namespace, key, id)));
+            if (ids.isEmpty()) {
+
+                return false;
+            }
+            targets.addAll(structures(namespace, key));
+        } else if (jedis.exists(hashKey(namespace, key))) {
+
+            targets.add(hashKey(namespace, key));
+        } else {
+
+            return false;
+        }
+
+        Pipeline pipeline = jedis.pipelined();
+        if (multi(namespace)) {
+
+            pipeline.del(ttlKey(namespace, key));
+        }
+        targets.forEach(target -> {
+
+            if (expiry == null) {
+
+                pipeline.persist(target);
+            } else {
+
+                pipeline.pexpireAt(target, expiry.toEpochMilli());
+            }
+        });
+        pipeline.zadd(keysKey(namespace), score(expiry), key);
+        pipeline.sync();
+        return true;
+    }
+
+    private void persist(Jedis jedis, String namespace, String key, double expiry) {
+
+        List<String> ids = jedis.zrange(entriesKey(namespace, key), 0, -1);
+        Pipeline pipeline = jedis.pipelined();
+        for (String id: ids) {
+
+            pipeline.zadd(ttlKey(namespace, key), expiry, id);
+            pipeline.persist(entryKey(namespace, key, id));
+        }
+        structures(namespace, key).forEach(pipeline::persist);
+        pipeline.sync();
+    }
+
+    private boolean matches(Entry entry, Map<String, String> hash, Map<String, FieldSpec> fieldMap) {
+
+        return fieldMap.keySet().stream().allMatch(name -> Objects.equals(entry.hash().get(name), hash.get(name)));
+    }
+
+    private Comparator<Entry> sortBy(FieldSpec sortKey, boolean reverse) {
+
+        Comparator<Entry> comparator = numeric(sortKey)
+                ? Comparator.comparingDouble(entry -> sortScore(entry.hash().get(sortKey.name())))
+                : Comparator.comparing(entry -> entry.hash().getOrDefault(sortKey.name(), ""));
+        return reverse ? comparator.reversed() : comparator;
+    }
+
+    private <R> Stream<R> page(Stream<R> stream, int pageCount, int pageLength) {
+
+        return pageLength > 0 ? stream.skip((long)(pageCount - 1) * pageLength).limit(pageLength) : stream;
+    }
+
+    private @Nullable BigDecimal number(@Nullable String value) {
+
+        try {
+
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+
+            return null;
+        }
+    }
+
+    private Condition min(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return new Condition(filterKey, value -> number(value) != null && number(value).compareTo(cutoff) >= 0);
+    }
+
+    private Condition max(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return new Condition(filterKey, value -> number(value) != null && number(value).compareTo(cutoff) <= 0);
+    }
+
+    private Condition equal(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return new Condition(filterKey, value -> number(value) != null && number(value).compareTo(cutoff) == 0);
+    }
+
+    private Condition equal(FieldSpec filterKey, String value) {
+
+        return new Condition(filterKey, value::equals);
+    }
+
+    private Condition bool(FieldSpec filterKey, boolean value) {
+
+        return new Condition(filterKey, field -> Boolean.parseBoolean(field) == value && field != null);
+    }
+
+    private Condition prefix(FieldSpec filterKey, String prefix) {
+
+        return new Condition(filterKey, value -> value != null && value.startsWith(prefix));
+    }
+
+    // the filter tree becomes one predicate over the fetched hashes
+    private Condition compile(Filter filter) {
+
+        if (filter instanceof Filter.Min min) {
+
+            return min(min.field(), min.cutoff());
+        }
+        if (filter instanceof Filter.Max max) {
+
+            return max(max.field(), max.cutoff());
+        }
+        if (filter instanceof Filter.Equals equals) {
+
+            return equal(equals.field(), equals.value());
+        }
+        if (filter instanceof Filter.In in) {
+
+            List<Condition> conditions = in.values().stream().map(value -> equal(in.field(), value)).toList();
+            return new Condition(entry -> conditions.stream().anyMatch(condition -> condition.test(entry)));
+        }
+        if (filter instanceof Filter.Prefix prefix) {
+
+            return prefix(prefix.field(), prefix.prefix());
+        }
+        if (filter instanceof Filter.And and) {
+
+            List<Condition> conditions = and.filters().stream().map(this::compile).toList();
+            return new Condition(entry -> conditions.stream().allMatch(condition -> condition.test(entry)));
+        }
+        if (filter instanceof Filter.Or or) {
+
+            List<Condition> conditions = or.filters().stream().map(this::compile).toList();
+            return new Condition(entry -> conditions.stream().anyMatch(condition -> condition.test(entry)));
+        }
+        throw new IllegalArgumentException("Unsupported filter " + filter);
+    }
+
+    private Condition equal(FieldSpec filterKey, Object value) {
+
+        if (value instanceof BigDecimal decimal) {
+
+            return equal(filterKey, decimal);
+        }
+        if (value instanceof Boolean bool) {
+
+            return bool(filterKey, bool);
+        }
+        return equal(filterKey, value.toString());
+    }
+
+    private record Condition(Predicate<Entry> predicate) {
+
+        Condition(FieldSpec field, Predicate<String> predicate) {
+
+            this(entry -> predicate.test(entry.hash().get(field.name())));
+        }
+
+        boolean test(Entry entry) {
+
+            return predicate.test(entry);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.danifoldi.dataverse.database.redis;
+
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.database.DatabaseEngine;
+import com.danifoldi.dataverse.database.EngineExecutors;
+import com.danifoldi.dataverse.database.mysql.ColumnNames;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+public class RedisOperations implements DatabaseEngine {
+
+    protected JedisPool pool;
+    protected TranslationEngine translationEngine;
+    protected Logger logger;
+    protected EngineExecutors executors;
+    private String prefix;
+    private final @NotNull Map<@NotNull String, @NotNull Map<@NotNull String, @NotNull FieldSpec>> multiNamespaces = new ConcurrentHashMap<>();
+
+    record Entry(@NotNull String key, @NotNull String id, @NotNull Map<@NotNull String, @NotNull String> hash) {}
+
+    @Override
+    public void setLogger(@NotNull Logger logger) {
+
+        this.logger = logger;
+    }
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        this.prefix = config.getOrDefault("redis_prefix", "dataverse:");
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(Integer.parseInt(config.getOrDefault("redis_pool_size", "16")));
+        poolConfig.setMaxIdle(poolConfig.getMaxTotal());
+        poolConfig.setMaxWait(Duration.ofMillis(5000));
+        poolConfig.setJmxEnabled(false);
+
+        String user = config.getOrDefault("redis_user", "");
+        String password = config.getOrDefault("redis_password", "");
+
+        close();
+
+        pool = new JedisPool(poolConfig,
+                config.getOrDefault("redis_host", "localhost"),
+                Integer.parseInt(config.getOrDefault("redis_port", "6379")),
+                5000,
+                user.isBlank() ? null : user,
+                password.isBlank() ? null : password,
+                Integer.parseInt(config.getOrDefault("redis_database", "0")),
+                "DataVerse");
+        startExecutors(EngineExecutors.forSharedPool("Redis", config, poolConfig.getMaxTotal()));
+    }
+
+    private void startExecutors(@NotNull EngineExecutors executors) {
+
+        if (this.executors != null) {
+
+            this.executors.shutdown();
+        }
+
+        this.executors = executors;
+    }
+
+    @Override
+    public void close() {
+
+        if (executors != null) {
+
+            executors.shutdown();
+        }
+        if (pool != null) {
+
+            pool.close();
+        }
+    }
+
+    void createNamespace(String namespace) {
+
+        multiNamespaces.remove(namespace);
+    }
+
+    void createMultiNamespace(String namespace, Map<String, FieldSpec> fieldMap) {
+
+        multiNamespaces.put(namespace, fieldMap);
+    }
+
+    boolean multi(String namespace) {
+
+        return multiNamespaces.containsKey(namespace);
+    }
+
+    Map<String, FieldSpec> fields(String namespace) {
+
+        return multiNamespaces.getOrDefault(namespace, Map.of());
+    }
+
+    // every namespace keeps its live keys in a sorted set scored by expiry, so liveness checks and counts are range reads
+    String keysKey(String namespace) {
+
+        return "%s%s".formatted(prefix, namespace);
+    }
+
+    String hashKey(String namespace, String key) {
+
+        return "%s%s:%s".formatted(prefix, namespace, key);
+    }
+
+    String entriesKey(String namespace, String key) {
+
+        return "%s%s:%s:entries".formatted(prefix, namespace, key);
+    }
+
+    String entryKey(String namespace, String key, String id) {
+
+        return "%s%s:%s:%s".formatted(prefix, namespace, key, id);
+    }
+
+    String sortKey(String namespace, String key, String field) {
+
+        return "%s%s:%s:sort:%s".formatted(prefix, namespace, key, field);
+    }
+
+    String ttlKey(String namespace, String key) {
+
+        return "%s%s:%s:ttl".formatted(prefix, namespace, key);
+    }
+
+    String sequenceKey(String namespace) {
+
+        return "%s%s:sequence".formatted(prefix, namespace);
+    }
+
+    double score(@Nullable Instant expiry) {
+
+        return expiry == null ? Double.POSITIVE_INFINITY : expiry.toEpochMilli();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    boolean numeric(FieldSpec spec) {
+
+        return switch (spec.type().toString()) {
+
+            case "int", "java.lang.Integer", "long", "java.lang.Long", "short", "java.lang.Short", "byte", "java.lang.Byte",
+                    "float", "java.lang.Float", "double", "java.lang.Double", "boolean", "java.lang.Boolean", "java.math.BigDecimal" -> true;
+            default -> false;
+        };
+    }
+
+    double sortScore(@Nullable String value) {
+
+        if (value == null) {
+
+            return Double.NEGATIVE_INFINITY;
+        }
+        return switch (value) {
+
+            case "true" -> 1;
+            case "false" -> 0;
+            default -> Double.parseDouble(value);
+        };
+    }
+
+    // non-numeric fields share a zero score, so members order lexicographically by value with the id as tie breaker
+    String sortMember(@Nullable String value, String id) {
+
+        return "%s\u0000%s".formatted(value == null ? "" : value, id);
+    }
+
+    String sortMemberId(String member) {
+
+        return member.substring(member.lastIndexOf('\u0000') + 1);
+    }
+
+    List<String> structures(String namespace, String key) {
+
+        List<String> structures = new ArrayList<>(List.of(entriesKey(namespace, key), ttlKey(namespace, key)));
+        fields(namespace).keySet().forEach(name -> structures.add(sortKey(namespace, key, name)));
+        return structures;
+    }
+
+    void index(Pipeline pipeline, String namespace, String key, String id, Map<String, String> hash) {
+
+        fields(namespace).forEach((name, spec) -> {
+
+            if (numeric(spec)) {
+
+                pipeline.zadd(sortKey(namespace, key, name), sortScore(hash.get(name)), id);
+            } else {
+
+                pipeline.zadd(sortKey(namespace, key, name), 0, sortMember(hash.get(name), id));
+            }
+        });
+    }
+
+    void unindex(Pipeline pipeline, String namespace, String key, String id, Map<String, String> hash) {
+
+        fields(namespace).forEach((name, spec) -> pipeline.zrem(sortKey(namespace, key, name), numeric(spec) ? id : sortMember(hash.get(name), id)));
+    }
+
+    List<String> aliveKeys(Jedis jedis, String namespace) {
+
+        return jedis.zrangeByScore(keysKey(namespace), "(" + Instant.now().toEpochMilli(), "+inf");
+    }
+
+    List<Entry> entries(Jedis jedis, String namespace, @Nullable String key) {
+
+        List<String> keys = key == null ? aliveKeys(jedis, namespace) : List.of(key);
+
+        if (!multi(namespace)) {
+
+            return hashes(jedis, keys.stream().map(k -> new Entry(k, k, Map.of())).toList(), entry -> hashKey(namespace, entry.key()));
+        }
+
+        purge(jedis, namespace, keys);
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<List<String>>> ids = keys.stream().map(k -> pipeline.zrange(entriesKey(namespace, k), 0, -1)).toList();
+        pipeline.sync();
+
+        List<Entry> pending = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+
+            for (String id: ids.get(i).get()) {
+
+                pending.add(new Entry(keys.get(i), id, Map.of()));
+            }
+        }
+        return hashes(jedis, pending, entry -> entryKey(namespace, entry.key(), entry.id()));
+    }
+
+    List<Entry> hashes(Jedis jedis, List<Entry> pending, Function<Entry, String> hashKey) {
+
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<Map<String, String>>> hashes = pending.stream().map(entry -> pipeline.hgetAll(hashKey.apply(entry))).toList();
+        pipeline.sync();
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+
+            if (!hashes.get(i).get().isEmpty()) {
+
+                entries.add(new Entry(pending.get(i).key(), pending.get(i).id(), hashes.get(i).get()));
+            }
+        }
+        return entries;
+    }
+
+    // entries expired one by one are only tracked in the ttl set, they are dropped from every index before a key is read
+    void purge(Jedis jedis, String namespace, List<String> keys) {
+
+        String now = "(" + Instant.now().toEpochMilli();
+        Pipeline lookup = jedis.pipelined();
+        List<Response<List<String>>> expired = keys.stream().map(key -> lookup.zrangeByScore(ttlKey(namespace, key), "-inf", now)).toList();
+        lookup.sync();
+
+        List<Entry> pending = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+
+            for (String id: expired.get(i).get()) {
+
+                pending.add(new Entry(keys.get(i), id, Map.of()));
+            }
+        }
+        if (pending.isEmpty()) {
+
+            return;
+        }
+
+        List<Entry> entries = hashes(jedis, pending, entry -> entryKey(namespace, entry.key(), entry.id()));
+        Pipeline pipeline = jedis.pipelined();
+        for (Entry entry: entries) {
+
+            unindex(pipeline, namespace, entry.key(), entry.id(), entry.hash());
+        }
+        for (Entry entry: pending) {
+
+            pipeline.del(entryKey(namespace, entry.key(), entry.id()));
+            pipeline.zrem(entriesKey(namespace, entry.key()), entry.id());
+            pipeline.zrem(ttlKey(namespace, entry.key()), entry.id());
+        }
+        pipeline.sync();
+        forgetEmpty(jedis, namespace, pending.stream().map(Entry::key).distinct().toList());
+    }
+
+    void forgetEmpty(Jedis jedis, String namespace, List<String> keys) {
+
+        Pipeline lookup = jedis.pipelined();
+        List<Response<Long>> sizes = keys.stream().map(key -> lookup.zcard(entriesKey(namespace, key))).toList();
+        lookup.sync();
+
+        Pipeline pipeline = jedis.pipelined();
+        for (int i = 0; i < keys.size(); i++) {
+
+            if (sizes.get(i).get() == 0) {
+
+                pipeline.zrem(keysKey(namespace), keys.get(i));
+                pipeline.del(structures(namespace, keys.get(i)).toArray(String[]::new));
+            }
+        }
+        pipeline.sync();
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    Map<String, String> toHash(Object value, Map<String, FieldSpec> fieldMap) {
+
+        Map<String, String> hash = new HashMap<>();
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                String encoded = encode(spec.reflect().get(value), spec.type().toString());
+                if (encoded != null) {
+
+                    hash.put(name, encoded);
+                }
+            } catch (ReflectiveOperationException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return hash;
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    <T> T fromHash(Map<String, String> hash, T value, Map<String, FieldSpec> fieldMap) {
+
+        fieldMap.forEach((name, spec) -> {
+
+            try {
+
+                spec.reflect().set(value, decode(hash.get(name), spec.type().toString()));
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+
+                logger.severe(e.getMessage());
+            }
+        });
+        return value;
+    }
+
+    Map<String, String> withTimestamps(Map<String, String> hash, Instant now, boolean created) {
+
+        Map<String, String> stamped = new HashMap<>(hash);
+        if (created) {
+
+            stamped.put(ColumnNames.CREATE_TIMESTAMP, String.valueOf(now.toEpochMilli()));
+        }
+        stamped.put(ColumnNames.UPDATE_TIMESTAMP, String.valueOf(now.toEpochMilli()));
+        return stamped;
+    }
+
+    @Nullable String encode(@Nullable Object value, String javaType) {
+
+        Function<Object, String> encoder = translationEngine.getJavaTypeToString(javaType);
+        if (value == null) {
+
+            return null;
+        }
+        if (encoder != null) {
+
+            return encoder.apply(value);
+        }
+        if (value instanceof BigDecimal decimal) {
+
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    @Nullable Object decode(@Nullable String value, String javaType) {
+
+        Function<String, Object> decoder = translationEngine.getStringToJavaType(javaType);
+        if (value == null) {
+
+            return null;
+        }
+        if (decoder != null) {
+
+            return decoder.apply(value);
+        }
+        return switch (javaType) {
+
+            case "int", "java.lang.Integer" -> Integer.parseInt(value);
+            case "long", "java.lang.Long" -> Long.parseLong(value);
+            case "short", "java.lang.Short" -> Short.parseShort(value);
+            case "byte", "java.lang.Byte" -> Byte.parseByte(value);
+            case "float", "java.lang.Float" -> Float.parseFloat(value);
+            case "double", "java.lang.Double" -> Double.parseDouble(value);
+            case "boolean", "java.lang.Boolean" -> Boolean.parseBoolean(value);
+            case "char", "java.lang.Character" -> value.charAt(0);
+            case "java.math.BigDecimal" -> new BigDecimal(value);
+            case "java.util.UUID" -> UUID.fromString(value);
+            default -> value;
+        };
+    }
+}
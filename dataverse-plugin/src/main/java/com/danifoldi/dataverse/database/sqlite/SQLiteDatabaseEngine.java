@@ -0,0 +1,70 @@
+package com.danifoldi.dataverse.database.sqlite;
+
+import com.danifoldi.dataverse.database.EngineExecutors;
+import com.danifoldi.dataverse.database.jdbc.JDBCDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public class SQLiteDatabaseEngine extends JDBCDatabaseEngine {
+
+    @Override
+    public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+        this.translationEngine = translationEngine;
+        Path file = Path.of(config.getOrDefault("file_path", ".")).resolve(config.getOrDefault("sqlite_file_name", "dataverse.db"));
+        String connectionUrl = "jdbc:sqlite:%s".formatted(file.toAbsolutePath());
+        int readerConnections = Integer.parseInt(config.getOrDefault("sqlite_reader_connections", "4"));
+        long sweepInterval = Long.parseLong(config.getOrDefault("sqlite_sweep_interval", "3600"));
+
+        shutdownPools();
+
+        // sqlite allows a single writer at a time, readers proceed concurrently thanks to wal
+        writePool = new HikariPool(hikariConfig(connectionUrl, "Writer", 1, false));
+        readPool = new HikariPool(hikariConfig(connectionUrl, "Reader", readerConnections, true));
+
+        startExecutors(new EngineExecutors("SQLite", config, readerConnections, 1), config, sweepInterval);
+    }
+
+    private @NotNull HikariConfig hikariConfig(String connectionUrl, String name, int poolSize, boolean readOnly) {
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setAutoCommit(true);
+        hikariConfig.setAllowPoolSuspension(false);
+        hikariConfig.setIdleTimeout(0);
+        hikariConfig.setConnectionTimeout(5000);
+        hikariConfig.setInitializationFailTimeout(5000);
+        hikariConfig.setLeakDetectionThreshold(30000);
+        hikariConfig.setMinimumIdle(poolSize);
+        hikariConfig.setMaximumPoolSize(poolSize);
+        hikariConfig.setMaxLifetime(0);
+        hikariConfig.setPoolName("DataVerse Hikari SQLite %s Pool".formatted(name));
+        hikariConfig.setDriverClassName(org.sqlite.JDBC.class.getName());
+        hikariConfig.setJdbcUrl(connectionUrl);
+        hikariConfig.addDataSourceProperty("journal_mode", "WAL");
+        hikariConfig.addDataSourceProperty("synchronous", "NORMAL");
+        hikariConfig.addDataSourceProperty("busy_timeout", "5000");
+        hikariConfig.addDataSourceProperty("foreign_keys", "false");
+        if (readOnly) {
+
+            hikariConfig.setConnectionInitSql("PRAGMA query_only = true");
+        }
+        return hikariConfig;
+    }
+
+    @Override
+    protected @NotNull String quote(@NotNull String identifier) {
+
+        return "\"%s\"".formatted(identifier.replace("\"", "\"\""));
+    }
+
+    @Override
+    protected @NotNull String nullSafeEquals() {
+
+        return "IS";
+    }
+}
@@ -67,6 +67,37 @@ public class DataVersePlugin extends JavaPlugin {
                         }
                         spec.reflect().set(obj, config.get("i"));
                     });
+
+                    engine.addJavaTypeToString("org.bukkit.Location", obj -> {
+
+                        Location l = (Location)obj;
+                        return l.getWorld().getName() + "," + l.getX() + "," + l.getY() + "," + l.getZ() + "," + l.getPitch() + "," + l.getYaw();
+                    });
+                    engine.addJavaTypeToString("org.bukkit.Material", obj -> ((Material)obj).name());
+                    engine.addJavaTypeToString("org.bukkit.inventory.ItemStack", obj -> {
+
+                        YamlConfiguration config = new YamlConfiguration();
+                        config.set("i", obj);
+                        return config.saveToString();
+                    });
+
+                    engine.addStringToJavaType("org.bukkit.Location", string -> {
+
+                        String[] parts = string.split(",");
+                        return new Location(Bukkit.getWorld(parts[0]), Double.parseDouble(parts[1]), Double.parseDouble(parts[2]), Double.parseDouble(parts[3]), Float.parseFloat(parts[4]), Float.parseFloat(parts[5]));
+                    });
+                    engine.addStringToJavaType("org.bukkit.Material", Material::valueOf);
+                    engine.addStringToJavaType("org.bukkit.inventory.ItemStack", string -> {
+
+                        YamlConfiguration config = new YamlConfiguration();
+                        try {
+
+                            config.loadFromString(string);
+                        } catch (InvalidConfigurationException ignored) {
+
+                        }
+                        return config.get("i");
+                    });
                 }).join();
     }
 
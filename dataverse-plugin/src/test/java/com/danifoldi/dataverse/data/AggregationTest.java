@@ -0,0 +1,96 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregationTest {
+
+    private RecordingDataVerse store;
+    private FieldSpec name;
+    private FieldSpec kills;
+    private FieldSpec vip;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        name = store.getField("name");
+        kills = store.getField("kills");
+        vip = store.getField("vip");
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    private static void assertDecimal(long expected, BigDecimal actual) {
+
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(actual), () -> expected + " != " + actual);
+    }
+
+    @Test
+    void foldsValuesLikeSql() {
+
+        assertDecimal(1, Aggregation.MIN.apply(Stream.of(BigDecimal.valueOf(3), null, BigDecimal.ONE)));
+        assertDecimal(3, Aggregation.MAX.apply(Stream.of(BigDecimal.valueOf(3), null, BigDecimal.ONE)));
+        assertDecimal(2, Aggregation.AVG.apply(Stream.of(BigDecimal.valueOf(3), null, BigDecimal.ONE)));
+        assertDecimal(2, Aggregation.COUNT.apply(Stream.of(BigDecimal.valueOf(3), null, BigDecimal.ONE)));
+        assertDecimal(4, Aggregation.SUM.apply(Stream.of(BigDecimal.valueOf(3), null, BigDecimal.ONE)));
+    }
+
+    @Test
+    void foldsNothingIntoItsEmptyResult() {
+
+        assertNull(Aggregation.MIN.apply(Stream.empty()));
+        assertNull(Aggregation.AVG.apply(Stream.of((BigDecimal) null)));
+        assertDecimal(0, Aggregation.COUNT.apply(Stream.empty()));
+        assertDecimal(0, Aggregation.SUM.apply(Stream.empty()));
+
+        assertNull(store.aggregate(Aggregation.MAX, kills, null).join());
+        assertDecimal(0, store.aggregate(Aggregation.SUM, kills, null).join());
+        assertDecimal(0, store.sum(kills).join());
+        assertTrue(store.aggregateBy(Aggregation.SUM, kills, vip, null).join().isEmpty());
+    }
+
+    @Test
+    void aggregatesTheMatchesOfAFilter() {
+
+        IntStream.range(0, 10).forEach(i -> store.create("k" + i, new Score("p" + i, i * 10, i < 4)).join());
+
+        assertDecimal(0, store.aggregate(Aggregation.MIN, kills, null).join());
+        assertDecimal(90, store.aggregate(Aggregation.MAX, kills, null).join());
+        assertDecimal(45, store.aggregate(Aggregation.AVG, kills, null).join());
+        assertDecimal(10, store.aggregate(Aggregation.COUNT, kills, null).join());
+        assertDecimal(60, store.aggregate(Aggregation.SUM, kills, Filter.equal(vip, true)).join());
+        assertDecimal(60, store.sumFilterBool(kills, vip, true).join());
+        assertDecimal(90, store.aggregate(Aggregation.MIN, kills, Filter.prefix(name, "p9")).join());
+    }
+
+    @Test
+    void groupsByAField() {
+
+        IntStream.range(0, 10).forEach(i -> store.create("k" + i, new Score("p" + i, i * 10, i < 4)).join());
+
+        Map<String, BigDecimal> sums = store.aggregateBy(Aggregation.SUM, kills, vip, null).join();
+        assertEquals(2, sums.size());
+        assertDecimal(60, sums.get("true"));
+        assertDecimal(390, sums.get("false"));
+
+        Map<String, BigDecimal> counts = store.aggregateBy(Aggregation.COUNT, kills, vip, Filter.min(kills, BigDecimal.valueOf(30))).join();
+        assertDecimal(1, counts.get("true"));
+        assertDecimal(6, counts.get("false"));
+    }
+}
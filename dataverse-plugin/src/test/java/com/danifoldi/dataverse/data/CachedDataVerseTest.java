@@ -0,0 +1,122 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedDataVerseTest {
+
+    private RecordingDataVerse store;
+    private CachedDataVerse<Score> cached;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        cached = new CachedDataVerse<>(store, "scores", Score::new, 16, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    @Test
+    void readsAKeyOnceWhileFresh() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        Score first = cached.get("a").join();
+        first.kills = 99;
+        assertEquals("alice:1:false", String.valueOf(cached.get("a").join()));
+        assertEquals(1, store.calls("get a"));
+    }
+
+    @Test
+    void remembersMissingKeys() {
+
+        assertNull(cached.get("missing").join());
+        assertFalse(cached.exists("missing").join());
+        assertNull(cached.get("missing").join());
+        assertEquals(1, store.calls("get missing"));
+        assertEquals(0, store.calls("exists missing"));
+    }
+
+    @Test
+    void readsAgainAfterAWrite() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        cached.get("a").join();
+
+        assertTrue(cached.update("a", new Score("alice", 2, false)).join());
+        assertEquals("alice:2:false", String.valueOf(cached.get("a").join()));
+        assertEquals(2, store.calls("get a"));
+    }
+
+    @Test
+    void answersAnExpiredKeyWithoutReading() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        cached.get("a").join();
+
+        assertTrue(cached.expire("a", Instant.now().minusSeconds(1)).join());
+        assertNull(cached.get("a").join());
+        assertFalse(cached.exists("a").join());
+        assertEquals(1, store.calls("get a"));
+    }
+
+    @Test
+    void cachesALoadWhileAnotherKeyIsWritten() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        store.create("b", new Score("bob", 1, false)).join();
+
+        store.holdReads();
+        CompletableFuture<Score> load = cached.get("a");
+        assertTrue(cached.update("b", new Score("bob", 2, false)).join());
+        store.release();
+
+        assertEquals("alice:1:false", String.valueOf(load.join()));
+        assertEquals("alice:1:false", String.valueOf(cached.get("a").join()));
+        assertEquals(1, store.calls("get a"));
+    }
+
+    @Test
+    void dropsALoadWhileTheSameKeyIsWritten() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdReads();
+        CompletableFuture<Score> load = cached.get("a");
+        assertTrue(cached.update("a", new Score("alice", 2, false)).join());
+        store.release();
+        load.join();
+
+        assertEquals("alice:2:false", String.valueOf(cached.get("a").join()));
+        assertEquals(2, store.calls("get a"));
+    }
+
+    @Test
+    void loadsOnlyTheKeysItDoesNotKnow() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        store.create("b", new Score("bob", 2, false)).join();
+        cached.get("a").join();
+
+        assertEquals(2, cached.getAll(List.of("a", "b", "missing")).join().size());
+        assertEquals(2, cached.getAll(List.of("a", "b", "missing")).join().size());
+        assertEquals(1, store.calls("get a"));
+    }
+}
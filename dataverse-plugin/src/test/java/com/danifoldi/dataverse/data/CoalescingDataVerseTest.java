@@ -0,0 +1,127 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import com.danifoldi.microbase.util.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingDataVerseTest {
+
+    private RecordingDataVerse store;
+    private CoalescingDataVerse<Score> coalescing;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        coalescing = new CoalescingDataVerse<>(store, "scores", Score::new);
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    @Test
+    void concurrentReadsShareOneCall() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdReads();
+        CompletableFuture<Score> first = coalescing.get("a");
+        CompletableFuture<Score> second = coalescing.get("a");
+        store.release();
+
+        assertEquals("alice:1:false", String.valueOf(first.join()));
+        assertNotSame(first.join(), second.join());
+        assertEquals(1, store.calls("get a"));
+    }
+
+    @Test
+    void finishedCallsAreNotJoined() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        coalescing.get("a").join();
+        coalescing.get("a").join();
+        assertEquals(2, store.calls("get a"));
+    }
+
+    @Test
+    void readsAfterAWriteStartTheirOwnCall() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdReads();
+        CompletableFuture<Score> before = coalescing.get("a");
+        assertTrue(coalescing.update("a", new Score("alice", 2, false)).join());
+        CompletableFuture<Score> after = coalescing.get("a");
+        store.release();
+
+        before.join();
+        assertEquals("alice:2:false", String.valueOf(after.join()));
+        assertEquals(2, store.calls("get a"));
+    }
+
+    @Test
+    void queriesWithTheSameShapeShareOneCall() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdReads();
+        CompletableFuture<List<Score>> first = coalescing.query(Query.all()).thenApply(pairs -> pairs.stream().map(Pair::getSecond).toList());
+        CompletableFuture<List<Score>> second = coalescing.query(Query.all()).thenApply(pairs -> pairs.stream().map(Pair::getSecond).toList());
+        store.release();
+
+        assertEquals(first.join().toString(), second.join().toString());
+        assertEquals(1, store.calls("query"));
+    }
+
+    @Test
+    void detachedFlightsStillComplete() {
+
+        SingleFlight flights = new SingleFlight();
+        CompletableFuture<String> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = flights.run(List.of("get", "a"), () -> {
+
+            loads.incrementAndGet();
+            return load;
+        });
+        assertSame(first, flights.run(List.of("get", "a"), () -> CompletableFuture.completedFuture("joined")));
+
+        flights.detach();
+        assertEquals("fresh", flights.run(List.of("get", "a"), () -> CompletableFuture.completedFuture("fresh")).join());
+
+        load.complete("stale");
+        assertEquals("stale", first.join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedCallsAreNotJoined() {
+
+        SingleFlight flights = new SingleFlight();
+
+        CompletableFuture<String> failed = flights.run(List.of("get", "a"), () -> {
+
+            throw new IllegalStateException("unavailable");
+        });
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals("loaded", flights.run(List.of("get", "a"), () -> CompletableFuture.completedFuture("loaded")).join());
+    }
+}
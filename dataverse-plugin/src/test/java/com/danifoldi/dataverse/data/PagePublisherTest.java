@@ -0,0 +1,145 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import com.danifoldi.microbase.util.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagePublisherTest {
+
+    private static class Collector implements Flow.Subscriber<Pair<String, Score>> {
+
+        final List<String> keys = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean complete;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Pair<String, Score> item) {
+
+            keys.add(item.getFirst());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+
+            complete = true;
+        }
+    }
+
+    private RecordingDataVerse store;
+    private Collector collector;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        IntStream.range(0, 5).forEach(i -> store.create("k" + i, new Score("p" + i, i, false)).join());
+
+        // delivered on the calling thread, so every assertion sees what the subscriber has seen
+        Query query = Query.all().limit(2);
+        new PagePublisher<>(token -> store.query(query, token), Runnable::run).subscribe(collector = new Collector());
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    @Test
+    void readsNothingBeforeDemand() {
+
+        assertTrue(store.calls.isEmpty());
+        assertTrue(collector.keys.isEmpty());
+    }
+
+    @Test
+    void readsOnlyThePagesThatWereAskedFor() {
+
+        collector.subscription.request(3);
+        assertEquals(List.of("k0", "k1", "k2"), collector.keys);
+        assertEquals(List.of("query first", "query next"), store.calls);
+
+        // the rest of the buffered page is handed out before anything is read
+        collector.subscription.request(1);
+        assertEquals(4, collector.keys.size());
+        assertEquals(2, store.calls.size());
+        assertFalse(collector.complete);
+
+        collector.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of("k0", "k1", "k2", "k3", "k4"), collector.keys);
+        assertTrue(collector.complete);
+        assertNull(collector.error);
+    }
+
+    @Test
+    void stopsAfterCancellation() {
+
+        collector.subscription.request(1);
+        collector.subscription.cancel();
+        collector.subscription.request(10);
+
+        assertEquals(List.of("k0"), collector.keys);
+        assertEquals(1, store.calls.size());
+        assertFalse(collector.complete);
+    }
+
+    @Test
+    void waitsForAPageThatIsStillBeingRead() {
+
+        store.holdReads();
+        collector.subscription.request(1);
+        collector.subscription.request(1);
+        assertEquals(1, store.calls.size());
+
+        store.release();
+        assertEquals(List.of("k0", "k1"), collector.keys);
+        assertEquals(1, store.calls.size());
+    }
+
+    @Test
+    void failsOnNonPositiveDemand() {
+
+        collector.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, collector.error);
+        assertTrue(store.calls.isEmpty());
+    }
+
+    @Test
+    void failsWhenAPageFails() {
+
+        Collector failing = new Collector();
+        new PagePublisher<Pair<String, Score>>(token -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")), Runnable::run).subscribe(failing);
+        failing.subscription.request(1);
+
+        assertInstanceOf(IllegalStateException.class, failing.error);
+        assertTrue(failing.keys.isEmpty());
+    }
+}
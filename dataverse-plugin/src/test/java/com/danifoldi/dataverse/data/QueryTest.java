@@ -0,0 +1,104 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import com.danifoldi.microbase.util.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryTest {
+
+    private RecordingDataVerse store;
+    private FieldSpec name;
+    private FieldSpec kills;
+    private FieldSpec vip;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        name = store.getField("name");
+        kills = store.getField("kills");
+        vip = store.getField("vip");
+        IntStream.range(0, 10).forEach(i -> store.create("k" + i, new Score((i % 2 == 0 ? "even" : "odd") + i, i * 10, i < 3)).join());
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    private List<String> keys(Query query) {
+
+        return store.query(query).join().stream().map(Pair::getFirst).toList();
+    }
+
+    @Test
+    void filtersCombine() {
+
+        assertEquals(List.of("k7", "k8", "k9"), keys(Query.where(Filter.min(kills, BigDecimal.valueOf(70))).sortBy(kills)));
+        assertEquals(List.of("k3", "k4", "k5"), keys(Query.where(Filter.between(kills, BigDecimal.valueOf(30), BigDecimal.valueOf(50))).sortBy(kills)));
+        assertEquals(List.of("k0", "k2"), keys(Query.where(Filter.equal(vip, true)).and(Filter.prefix(name, "even")).sortBy(kills)));
+        assertEquals(List.of("k0", "k1", "k2", "k9"), keys(Query.where(Filter.equal(vip, true)).and(Filter.prefix(name, "even")).or(Filter.in(kills, List.of(10, 90))).sortBy(kills)));
+        assertEquals(List.of("k4", "k6"), keys(Query.where(Filter.in(kills, List.of(40, 60L, new BigDecimal("70.5")))).sortBy(kills)));
+        assertEquals(List.of("k1", "k3"), keys(Query.where(Filter.equal(name, "odd1")).or(Filter.equal(name, "odd3")).sortBy(kills)));
+    }
+
+    @Test
+    void sortsAndPages() {
+
+        assertEquals(List.of("k9", "k8", "k7"), keys(Query.all().sortBy(kills, true).limit(3)));
+        assertEquals(List.of("k6", "k5", "k4"), keys(Query.all().sortBy(kills, true).page(2, 3)));
+        assertEquals(10, keys(Query.all()).size());
+        assertThrows(IllegalArgumentException.class, () -> Query.all().page(0, 3));
+    }
+
+    @Test
+    void selectsOnlyTheProjectedFields() {
+
+        Score score = store.query(Query.where(Filter.equal(name, "odd1")).select(kills)).join().get(0).getSecond();
+
+        assertEquals(10, score.kills);
+        assertEquals("", score.name);
+    }
+
+    @Test
+    void walksKeysetPagesOfAFilter() {
+
+        Query query = Query.where(Filter.equal(vip, false)).sortBy(kills, true).limit(3);
+        Page<Pair<String, Score>> first = store.query(query, null).join();
+        Page<Pair<String, Score>> second = store.query(query, first.next()).join();
+        Page<Pair<String, Score>> last = store.query(query, second.next()).join();
+
+        assertEquals(List.of("k9", "k8", "k7"), first.values().stream().map(Pair::getFirst).toList());
+        assertEquals(List.of("k6", "k5", "k4"), second.values().stream().map(Pair::getFirst).toList());
+        assertEquals(List.of("k3"), last.values().stream().map(Pair::getFirst).toList());
+        assertNull(last.next());
+    }
+
+    @Test
+    void legacyReadsMatchTheirQuery() {
+
+        assertEquals(keys(Query.where(Filter.min(kills, BigDecimal.valueOf(50))).page(1, 3).sortBy(kills)), store.filterMin(kills, BigDecimal.valueOf(50), 1, 3, kills, false).join().stream().map(Pair::getFirst).toList());
+        assertEquals(3, store.countFilterBool(vip, true).join());
+        assertEquals(5, store.count(Filter.prefix(name, "odd")).join());
+        assertEquals(10, store.count().join());
+    }
+
+    @Test
+    void orOfEverythingIsEverything() {
+
+        Query all = Query.all();
+        assertSame(all, all.or(Filter.equal(vip, true)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.database.EngineDataVerse;
+import com.danifoldi.dataverse.database.memory.MemoryDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+// the memory engine under a layer, recording which calls reach it and able to hold its reads or writes back
+class RecordingDataVerse extends ForwardingNamespacedDataVerse<RecordingDataVerse.Score> {
+
+    public static class Score {
+
+        String name = "";
+        int kills;
+        boolean vip;
+
+        public Score() {
+
+        }
+
+        Score(String name, int kills, boolean vip) {
+
+            this.name = name;
+            this.kills = kills;
+            this.vip = vip;
+        }
+
+        @Override
+        public String toString() {
+
+            return "%s:%d:%b".formatted(name, kills, vip);
+        }
+    }
+
+    final @NotNull TranslationEngine translationEngine;
+    private final @NotNull MemoryDatabaseEngine databaseEngine;
+    final @NotNull List<@NotNull String> calls = Collections.synchronizedList(new ArrayList<>());
+    private volatile @NotNull CompletableFuture<@Nullable Void> reads = CompletableFuture.completedFuture(null);
+    private volatile @NotNull CompletableFuture<@Nullable Void> writes = CompletableFuture.completedFuture(null);
+
+    private RecordingDataVerse(final @NotNull TranslationEngine translationEngine, final @NotNull MemoryDatabaseEngine databaseEngine) {
+
+        super(new EngineDataVerse<>(databaseEngine, "scores", Score::new), "scores", Score::new);
+        this.translationEngine = translationEngine;
+        this.databaseEngine = databaseEngine;
+    }
+
+    static @NotNull RecordingDataVerse open() {
+
+        TranslationEngine translationEngine = new TranslationEngine();
+        translationEngine.setupStandard();
+        MemoryDatabaseEngine databaseEngine = new MemoryDatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(new HashMap<>(), translationEngine);
+        return new RecordingDataVerse(translationEngine, databaseEngine);
+    }
+
+    void close() {
+
+        databaseEngine.close();
+    }
+
+    // calls made from now on wait until released
+    void holdReads() {
+
+        reads = new CompletableFuture<>();
+    }
+
+    void holdWrites() {
+
+        writes = new CompletableFuture<>();
+    }
+
+    void release() {
+
+        reads.complete(null);
+        writes.complete(null);
+    }
+
+    long calls(@NotNull String call) {
+
+        synchronized (calls) {
+
+            return calls.stream().filter(call::equals).count();
+        }
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        calls.add("exists " + key);
+        return reads.thenCompose(ignored -> delegate.exists(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Score> get(String key) {
+
+        calls.add("get " + key);
+        return reads.thenCompose(ignored -> delegate.get(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull Score>>> query(@NotNull Query query) {
+
+        calls.add("query");
+        return reads.thenCompose(ignored -> delegate.query(query));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull Score>>> query(@NotNull Query query, @Nullable String token) {
+
+        calls.add("query " + (token == null ? "first" : "next"));
+        return reads.thenCompose(ignored -> delegate.query(query, token));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, Score value) {
+
+        calls.add("update " + key);
+        return writes.thenCompose(ignored -> delegate.update(key, value));
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, Score value, Map<String, FieldSpec> fields) {
+
+        calls.add("update %s %s".formatted(key, new TreeSet<>(fields.keySet())));
+        return writes.thenCompose(ignored -> delegate.update(key, value, fields));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        calls.add("increment " + key);
+        return writes.thenCompose(ignored -> delegate.increment(key, field, delta));
+    }
+}
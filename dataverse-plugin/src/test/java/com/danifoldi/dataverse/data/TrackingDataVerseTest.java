@@ -0,0 +1,87 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackingDataVerseTest {
+
+    private RecordingDataVerse store;
+    private TrackingDataVerse<Score> tracking;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        tracking = new TrackingDataVerse<>(store, "scores", Score::new, store.translationEngine, 16);
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    @Test
+    void writesUnknownKeysInFull() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        assertTrue(tracking.update("a", new Score("alice", 2, false)).join());
+        assertEquals(1, store.calls("update a"));
+    }
+
+    @Test
+    void writesOnlyTheFieldsChangedSinceTheLastRead() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        Score score = tracking.get("a").join();
+        score.kills = 2;
+        score.vip = true;
+        assertTrue(tracking.update("a", score).join());
+        assertEquals(1, store.calls("update a [kills, vip]"));
+
+        score.name = "alicia";
+        assertTrue(tracking.update("a", score).join());
+        assertEquals(1, store.calls("update a [name]"));
+        assertEquals("alicia:2:true", String.valueOf(store.get("a").join()));
+    }
+
+    @Test
+    void checksExistenceWhenNothingChanged() {
+
+        tracking.create("a", new Score("alice", 1, false)).join();
+
+        assertTrue(tracking.update("a", new Score("alice", 1, false)).join());
+        assertEquals(1, store.calls("exists a"));
+        assertEquals(0, store.calls("update a"));
+    }
+
+    @Test
+    void forgetsKeysChangedBehindItsBack() {
+
+        tracking.create("a", new Score("alice", 1, false)).join();
+        assertTrue(tracking.increment("a", tracking.getField("kills"), BigDecimal.ONE).join());
+
+        // the increment is only known to the store, so a diff against the old state would miss it
+        assertTrue(tracking.update("a", new Score("alice", 1, false)).join());
+        assertEquals(1, store.calls("update a"));
+        assertEquals("alice:1:false", String.valueOf(store.get("a").join()));
+    }
+
+    @Test
+    void forgetsKeysThatFailedToWrite() {
+
+        assertFalse(tracking.update("missing", new Score("nobody", 1, false)).join());
+        assertFalse(tracking.update("missing", new Score("nobody", 1, false)).join());
+        assertEquals(2, store.calls("update missing"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.data.RecordingDataVerse.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindDataVerseTest {
+
+    private RecordingDataVerse store;
+    private WriteBehindDataVerse<Score> writeBehind;
+
+    @BeforeEach
+    void setup() {
+
+        store = RecordingDataVerse.open();
+        writeBehind = new WriteBehindDataVerse<>(store, "scores", Score::new);
+    }
+
+    @AfterEach
+    void teardown() {
+
+        store.close();
+    }
+
+    @Test
+    void holdsUpdatesUntilFlushed() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        CompletableFuture<Boolean> update = writeBehind.update("a", new Score("alice", 2, false));
+        assertFalse(update.isDone());
+        assertEquals("alice:2:false", String.valueOf(writeBehind.get("a").join()));
+        assertEquals(0, store.calls("update a"));
+
+        assertTrue(writeBehind.flush("a").join());
+        assertTrue(update.join());
+        assertEquals("alice:2:false", String.valueOf(store.get("a").join()));
+    }
+
+    @Test
+    void repeatedUpdatesShareOneWrite() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        CompletableFuture<Boolean> first = writeBehind.update("a", new Score("alice", 2, false));
+        CompletableFuture<Boolean> second = writeBehind.update("a", new Score("alice", 3, false));
+        assertTrue(writeBehind.flush().join());
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertEquals(1, store.calls("update a"));
+        assertEquals("alice:3:false", String.valueOf(store.get("a").join()));
+    }
+
+    @Test
+    void flushesOfAKeyWriteOneAfterAnother() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdWrites();
+        writeBehind.update("a", new Score("alice", 2, false));
+        CompletableFuture<Boolean> older = writeBehind.flush("a");
+        writeBehind.update("a", new Score("alice", 3, false));
+        CompletableFuture<Boolean> newer = writeBehind.flush("a");
+        assertEquals(1, store.calls("update a"));
+
+        store.release();
+        assertTrue(older.join());
+        assertTrue(newer.join());
+        assertEquals(2, store.calls("update a"));
+        assertEquals("alice:3:false", String.valueOf(store.get("a").join()));
+    }
+
+    @Test
+    void flushingWhileAWriteIsRunningWaitsForIt() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+
+        store.holdWrites();
+        writeBehind.update("a", new Score("alice", 2, false));
+        CompletableFuture<Boolean> write = writeBehind.flush("a");
+        CompletableFuture<Boolean> flush = writeBehind.flush("a");
+        assertFalse(flush.isDone());
+
+        store.release();
+        assertTrue(write.join());
+        assertTrue(flush.join());
+    }
+
+    @Test
+    void aPendingValueStandsForTheKeyOnceConfirmed() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        writeBehind.update("a", new Score("alice", 2, false));
+
+        assertTrue(writeBehind.exists("a").join());
+        assertTrue(writeBehind.exists("a").join());
+        assertEquals("alice:2:false", String.valueOf(writeBehind.get("a").join()));
+        assertEquals(1, store.calls("exists a"));
+        assertEquals(0, store.calls("get a"));
+        assertEquals("alice:2:false", String.valueOf(writeBehind.getAll(List.of("a")).join().get("a")));
+    }
+
+    @Test
+    void aPendingUpdateOfAMissingKeyWritesNothing() {
+
+        CompletableFuture<Boolean> update = writeBehind.update("missing", new Score("nobody", 1, false));
+
+        assertFalse(writeBehind.exists("missing").join());
+        assertNull(writeBehind.get("missing").join());
+        assertTrue(writeBehind.getAll(List.of("missing")).join().isEmpty());
+
+        writeBehind.flush("missing").join();
+        assertFalse(update.join());
+        assertNull(store.get("missing").join());
+    }
+
+    @Test
+    void otherWritesFlushFirst() {
+
+        store.create("a", new Score("alice", 1, false)).join();
+        CompletableFuture<Boolean> update = writeBehind.update("a", new Score("alice", 2, false));
+
+        assertTrue(writeBehind.increment("a", writeBehind.getField("kills"), BigDecimal.TEN).join());
+        assertTrue(update.join());
+        assertEquals("alice:12:false", String.valueOf(store.get("a").join()));
+    }
+}
@@ -0,0 +1,252 @@
+package com.danifoldi.dataverse.database;
+
+import com.danifoldi.dataverse.data.FieldSpec;
+import com.danifoldi.dataverse.data.Leaderboard;
+import com.danifoldi.dataverse.data.Page;
+import com.danifoldi.dataverse.data.Ranked;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.danifoldi.microbase.util.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the behaviour every engine has to share, each engine runs it against storage of its own
+public abstract class EngineDataVerseTest {
+
+    public static class Profile {
+
+        String name = "";
+        @Ranked
+        int kills;
+        boolean vip;
+
+        public Profile() {
+
+        }
+
+        Profile(String name, int kills, boolean vip) {
+
+            this.name = name;
+            this.kills = kills;
+            this.vip = vip;
+        }
+
+        @Override
+        public String toString() {
+
+            return "%s:%d:%b".formatted(name, kills, vip);
+        }
+    }
+
+    private NamespacedDatabaseEngine databaseEngine;
+    private EngineDataVerse<Profile> dataverse;
+    private FieldSpec kills;
+
+    // fresh, empty storage for every test
+    protected abstract NamespacedDatabaseEngine connect(TranslationEngine translationEngine);
+
+    @BeforeEach
+    void setup() {
+
+        TranslationEngine translationEngine = new TranslationEngine();
+        translationEngine.setupStandard();
+        databaseEngine = connect(translationEngine);
+        dataverse = new EngineDataVerse<>(databaseEngine, "profiles", Profile::new);
+        kills = dataverse.getField("kills");
+    }
+
+    @AfterEach
+    void teardown() {
+
+        databaseEngine.close();
+    }
+
+    @Test
+    void createsAndReadsBack() {
+
+        assertTrue(dataverse.create("a", new Profile("alice", 10, true)).join());
+        assertFalse(dataverse.create("a", new Profile("other", 1, false)).join());
+
+        assertEquals("alice:10:true", String.valueOf(dataverse.get("a").join()));
+        assertTrue(dataverse.exists("a").join());
+        assertNull(dataverse.get("missing").join());
+        assertFalse(dataverse.exists("missing").join());
+    }
+
+    @Test
+    void updatesOnlyWhatExists() {
+
+        assertFalse(dataverse.update("a", new Profile("alice", 1, false)).join());
+        assertNull(dataverse.get("a").join());
+
+        dataverse.create("a", new Profile("alice", 1, false)).join();
+        assertTrue(dataverse.update("a", new Profile("alice", 2, true)).join());
+        assertEquals("alice:2:true", String.valueOf(dataverse.get("a").join()));
+    }
+
+    @Test
+    void upsertsAndKeepsWhatIsStored() {
+
+        assertTrue(dataverse.createOrUpdate("a", new Profile("alice", 1, false)).join());
+        assertTrue(dataverse.createOrUpdate("a", new Profile("alice", 5, false)).join());
+        assertEquals(5, dataverse.get("a").join().kills);
+
+        assertEquals("alice:5:false", String.valueOf(dataverse.getOrCreate("a", new Profile("new", 0, true)).join()));
+        assertEquals("bob:3:false", String.valueOf(dataverse.getOrCreate("b", new Profile("bob", 3, false)).join()));
+        assertEquals("bob:3:false", String.valueOf(dataverse.get("b").join()));
+    }
+
+    @Test
+    void deletesAndExpires() {
+
+        dataverse.create("a", new Profile("alice", 1, false)).join();
+        dataverse.create("b", new Profile("bob", 2, false)).join();
+
+        assertTrue(dataverse.delete("a").join());
+        assertNull(dataverse.get("a").join());
+        assertFalse(dataverse.delete("a").join());
+
+        assertTrue(dataverse.expire("b", Instant.now().minusSeconds(1)).join());
+        assertNull(dataverse.get("b").join());
+        assertFalse(dataverse.exists("b").join());
+    }
+
+    @Test
+    void incrementsAndSwaps() {
+
+        dataverse.create("a", new Profile("alice", 10, false)).join();
+
+        assertTrue(dataverse.increment("a", kills, BigDecimal.valueOf(5)).join());
+        assertEquals(15, dataverse.get("a").join().kills);
+        assertFalse(dataverse.increment("missing", kills, BigDecimal.ONE).join());
+
+        assertFalse(dataverse.compareAndSet("a", new Profile("alice", 10, false), new Profile("alice", 0, false)).join());
+        assertTrue(dataverse.compareAndSet("a", new Profile("alice", 15, false), new Profile("alice", 20, true)).join());
+        assertEquals("alice:20:true", String.valueOf(dataverse.get("a").join()));
+    }
+
+    @Test
+    void readsManyKeysAtOnce() {
+
+        dataverse.create("a", new Profile("alice", 1, false)).join();
+        dataverse.create("b", new Profile("bob", 2, false)).join();
+
+        Map<String, Profile> found = dataverse.getAll(List.of("a", "b", "missing")).join();
+        assertEquals(2, found.size());
+        assertEquals("bob:2:false", String.valueOf(found.get("b")));
+    }
+
+    @Test
+    void keysetPagesVisitEveryKeyOnceInOrder() {
+
+        // ties on the sort field, so the key has to break them the same way on every page
+        IntStream.range(0, 25).forEach(i -> dataverse.create("k%02d".formatted(i), new Profile("p" + i, i % 7, i % 2 == 0)).join());
+
+        List<Pair<String, Profile>> walked = new ArrayList<>();
+        String token = null;
+        do {
+
+            Page<Pair<String, Profile>> page = dataverse.list(7, kills, true, token).join();
+            assertTrue(page.values().size() <= 7);
+            walked.addAll(page.values());
+            token = page.next();
+        } while (token != null);
+
+        assertEquals(IntStream.range(0, 25).mapToObj("k%02d"::formatted).toList(), walked.stream().map(Pair::getFirst).sorted().toList());
+        assertEquals(walked.stream().map(pair -> pair.getSecond().kills).sorted(Comparator.reverseOrder()).toList(), walked.stream().map(pair -> pair.getSecond().kills).toList());
+        assertEquals(25, dataverse.list(1, 25, kills, true).join().size());
+    }
+
+    @Test
+    void filtersCountsAndSums() {
+
+        IntStream.range(0, 10).forEach(i -> dataverse.create("k" + i, new Profile("p" + i, i * 10, i < 3)).join());
+
+        assertEquals(List.of("k7", "k8", "k9"), dataverse.filterMin(kills, BigDecimal.valueOf(70)).join().stream().map(Pair::getFirst).sorted().toList());
+        assertEquals(3, dataverse.countFilterBool(dataverse.getField("vip"), true).join());
+        assertEquals(10, dataverse.count().join());
+        assertEquals(0, BigDecimal.valueOf(450).compareTo(dataverse.sum(kills).join()));
+    }
+
+    @Test
+    void leaderboardLoadsAtSetupAndFollowsWrites() {
+
+        IntStream.range(0, 5).forEach(i -> dataverse.create("k" + i, new Profile("p" + i, i * 10, false)).join());
+
+        EngineDataVerse<Profile> reopened = new EngineDataVerse<>(databaseEngine, "profiles", Profile::new);
+        Leaderboard leaderboard = reopened.leaderboard(kills);
+        assertEquals(List.of("k4", "k3", "k2"), leaderboard.top(3).join().stream().map(Pair::getFirst).toList());
+        assertEquals(3, leaderboard.rank("k2").join());
+
+        reopened.update("k0", new Profile("p0", 100, false)).join();
+        reopened.increment("k1", kills, BigDecimal.valueOf(25)).join();
+        reopened.delete("k4").join();
+        assertEquals(List.of("k0", "k1", "k3", "k2"), leaderboard.top(10).join().stream().map(Pair::getFirst).toList());
+        assertNull(leaderboard.rank("k4").join());
+        assertEquals(4, leaderboard.size().join());
+
+        assertThrows(IllegalArgumentException.class, () -> reopened.leaderboard(reopened.getField("name")));
+    }
+
+    @Test
+    void leaderboardFollowsIncrementsAndExpiries() throws InterruptedException {
+
+        dataverse.create("a", new Profile("alice", 10, false)).join();
+        dataverse.create("b", new Profile("bob", 20, false)).join();
+        Leaderboard leaderboard = dataverse.leaderboard(kills);
+
+        assertTrue(dataverse.increment("a", kills, BigDecimal.valueOf(15)).join());
+        assertEquals(BigDecimal.valueOf(25), leaderboard.score("a").join());
+        assertEquals(1, leaderboard.rank("a").join());
+
+        assertTrue(dataverse.expire("a", Instant.now().plusMillis(300)).join());
+        assertEquals(1, leaderboard.rank("a").join());
+        for (int i = 0; i < 100 && leaderboard.rank("a").join() != null; i++) {
+
+            Thread.sleep(50);
+        }
+        assertNull(leaderboard.rank("a").join());
+        assertEquals(1, leaderboard.rank("b").join());
+    }
+
+    @Test
+    void multiKeepsEveryValueOfAKey() {
+
+        EngineMultiDataVerse<Profile> multi = new EngineMultiDataVerse<>(databaseEngine, "attempts", Profile::new);
+        IntStream.range(0, 4).forEach(i -> multi.add("u", new Profile("u" + i, i * 7, false)).join());
+        multi.add("v", new Profile("v", 13, false)).join();
+
+        assertEquals(4, multi.get("u").join().size());
+        assertEquals(List.of("u3", "u2"), multi.get("u", 1, 2, kills, true).join().stream().map(profile -> profile.name).toList());
+        assertTrue(multi.get("missing").join().isEmpty());
+
+        Leaderboard leaderboard = multi.leaderboard(kills);
+        assertEquals("[u=21, v=13]", leaderboard.top(5).join().stream().map(pair -> pair.getFirst() + "=" + pair.getSecond()).toList().toString());
+
+        assertTrue(multi.delete("u", new Profile("u3", 21, false)).join());
+        assertEquals(3, multi.get("u").join().size());
+        assertEquals(BigDecimal.valueOf(14), leaderboard.score("u").join());
+
+        assertTrue(multi.deleteAll("v").join());
+        assertTrue(multi.empty("v").join());
+        assertNull(leaderboard.rank("v").join());
+
+        EngineMultiDataVerse<Profile> reopened = new EngineMultiDataVerse<>(databaseEngine, "attempts", Profile::new);
+        assertNotNull(reopened.leaderboard(kills).rank("u").join());
+    }
+}
@@ -0,0 +1,29 @@
+package com.danifoldi.dataverse.database.file;
+
+import com.danifoldi.dataverse.database.EngineDataVerseTest;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+class FileDatabaseEngineTest extends EngineDataVerseTest {
+
+    @TempDir
+    Path directory;
+
+    @Override
+    protected NamespacedDatabaseEngine connect(TranslationEngine translationEngine) {
+
+        Map<String, String> config = new HashMap<>();
+        config.put("file_path", directory.toString());
+
+        FileDatabaseEngine databaseEngine = new FileDatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(config, translationEngine);
+        return databaseEngine;
+    }
+}
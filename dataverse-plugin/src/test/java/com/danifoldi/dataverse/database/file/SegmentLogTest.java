@@ -0,0 +1,216 @@
+package com.danifoldi.dataverse.database.file;
+
+import com.danifoldi.dataverse.database.memory.Row;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    private TranslationEngine translationEngine;
+    private SegmentLog log;
+
+    @BeforeEach
+    void setup() throws IOException {
+
+        translationEngine = new TranslationEngine();
+        translationEngine.setupStandard();
+        log = open(1 << 20);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+
+        log.close();
+    }
+
+    private SegmentLog open(long segmentSize) throws IOException {
+
+        return new SegmentLog(directory, segmentSize, false, translationEngine);
+    }
+
+    private void reopen(long segmentSize) throws IOException {
+
+        log.close();
+        log = open(segmentSize);
+    }
+
+    private void put(String key, Object value, Instant expiry) throws IOException {
+
+        Instant now = Instant.now();
+        log.write(key, rows -> new SegmentLog.Update<>(List.of(new Row(key, Map.of("value", value), now, now, expiry)), true));
+    }
+
+    private void put(String key, Object value) throws IOException {
+
+        put(key, value, null);
+    }
+
+    private void delete(String key) throws IOException {
+
+        log.write(key, rows -> new SegmentLog.Update<>(List.of(), true));
+    }
+
+    private Object value(String key) throws IOException {
+
+        List<Row> rows = log.read(key);
+        return rows.isEmpty() ? null : rows.get(0).value("value");
+    }
+
+    private List<Path> segments() throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    void readsBackWhatWasAppended() throws IOException {
+
+        UUID id = UUID.randomUUID();
+        put("a", 1);
+        put("b", "text");
+        put("c", new BigDecimal("1.50"));
+        put("d", id);
+        put("a", 2);
+        delete("b");
+
+        assertEquals(2, value("a"));
+        assertTrue(log.read("b").isEmpty());
+        assertEquals(new BigDecimal("1.50"), value("c"));
+        assertEquals(id, value("d"));
+        assertEquals(3, log.readAll().size());
+
+        reopen(1 << 20);
+        assertEquals(2, value("a"));
+        assertTrue(log.read("b").isEmpty());
+        assertEquals(id, value("d"));
+    }
+
+    @Test
+    void rollsOverToNewSegments() throws IOException {
+
+        reopen(128);
+        for (int i = 0; i < 20; i++) {
+
+            put("k" + i, i);
+        }
+        assertTrue(segments().size() > 1);
+
+        reopen(128);
+        for (int i = 0; i < 20; i++) {
+
+            assertEquals(i, value("k" + i));
+        }
+    }
+
+    @Test
+    void dropsATornRecordAtTheTail() throws IOException {
+
+        put("a", 1);
+        put("b", 2);
+        log.close();
+
+        Path segment = segments().get(segments().size() - 1);
+        long intact = Files.size(segment);
+        // a header promising more than was written before the crash
+        Files.write(segment, ByteBuffer.allocate(12).putInt(64).putInt(0).putInt(7).array(), StandardOpenOption.APPEND);
+
+        log = open(1 << 20);
+        assertEquals(1, value("a"));
+        assertEquals(2, value("b"));
+        assertEquals(intact, Files.size(segment));
+
+        put("c", 3);
+        reopen(1 << 20);
+        assertEquals(3, value("c"));
+        assertEquals(3, log.readAll().size());
+    }
+
+    @Test
+    void dropsARecordWithABadChecksum() throws IOException {
+
+        put("a", 1);
+        put("b", 2);
+        log.close();
+
+        Path segment = segments().get(segments().size() - 1);
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+
+        log = open(1 << 20);
+        assertEquals(1, value("a"));
+        assertTrue(log.read("b").isEmpty());
+    }
+
+    @Test
+    void compactsIntoOneSegmentOfLiveRows() throws IOException {
+
+        reopen(128);
+        for (int i = 0; i < 10; i++) {
+
+            put("k" + i, i);
+            put("k" + i, i * 10);
+        }
+        delete("k0");
+        put("k1", 1, Instant.now().minusSeconds(1));
+        assertTrue(log.needsCompaction(0.5, Instant.now()));
+
+        log.compact(Instant.now());
+        assertEquals(1, segments().size());
+        assertFalse(log.needsCompaction(0.5, Instant.now()));
+        assertEquals(8, log.readAll().size());
+
+        reopen(128);
+        assertTrue(log.read("k0").isEmpty());
+        assertTrue(log.read("k1").isEmpty());
+        assertEquals(90, value("k9"));
+        assertEquals(8, log.readAll().size());
+    }
+
+    @Test
+    void ignoresSegmentsLeftBehindByACompaction() throws IOException {
+
+        put("a", 1);
+        put("b", 2);
+        Path old = segments().get(0);
+        byte[] before = Files.readAllBytes(old);
+
+        delete("b");
+        put("a", 3);
+        log.compact(Instant.now());
+        log.close();
+
+        // the old segment could not be deleted, the base record of the compacted one must win over it
+        Files.write(old, before);
+        Files.write(directory.resolve("%08d.tmp".formatted(99)), new byte[] { 1, 2, 3 });
+
+        log = open(1 << 20);
+        assertEquals(3, value("a"));
+        assertTrue(log.read("b").isEmpty());
+        assertFalse(Files.exists(directory.resolve("%08d.tmp".formatted(99))));
+    }
+}
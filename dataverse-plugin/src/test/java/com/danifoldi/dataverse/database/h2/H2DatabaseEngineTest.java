@@ -0,0 +1,27 @@
+package com.danifoldi.dataverse.database.h2;
+
+import com.danifoldi.dataverse.database.EngineDataVerseTest;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+// covers the shared jdbc path with an embedded database standing in for a server
+class H2DatabaseEngineTest extends EngineDataVerseTest {
+
+    @Override
+    protected NamespacedDatabaseEngine connect(TranslationEngine translationEngine) {
+
+        Map<String, String> config = new HashMap<>();
+        config.put("h2_mode", "memory");
+        config.put("h2_file_name", "test%s".formatted(UUID.randomUUID()));
+
+        H2DatabaseEngine databaseEngine = new H2DatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(config, translationEngine);
+        return databaseEngine;
+    }
+}
@@ -0,0 +1,149 @@
+package com.danifoldi.dataverse.database.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBatcherTest {
+
+    private static final String INSERT = "INSERT INTO scores (id, score) VALUES (?, ?)";
+    private static final String UPDATE = "UPDATE scores SET score = ? WHERE id = ?";
+    // a different statement text, so it never shares a batch with UPDATE
+    private static final String UPDATE_AGAIN = "UPDATE scores SET score = ? WHERE id = ? AND 1 = 1";
+
+    private String url;
+    // the in-memory database lives as long as one connection to it is open
+    private Connection keepAlive;
+    private ExecutorService writes;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setup() throws SQLException {
+
+        url = "jdbc:h2:mem:batcher%s".formatted(UUID.randomUUID());
+        keepAlive = DriverManager.getConnection(url);
+        try (Statement statement = keepAlive.createStatement()) {
+
+            statement.execute("CREATE TABLE scores (id VARCHAR(64) PRIMARY KEY, score INT)");
+        }
+        writes = Executors.newFixedThreadPool(4);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void teardown() throws SQLException {
+
+        writes.shutdownNow();
+        scheduler.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    void keepsWritesToOneKeyInSubmitOrder() throws SQLException {
+
+        WriteBatcher batcher = batcher(0, 16);
+        batcher.submit(INSERT, bind("a", 0)).join();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+
+            results.add(batcher.submit(i % 3 == 0 ? UPDATE_AGAIN : UPDATE, update("a", i)));
+        }
+        results.forEach(result -> assertEquals(1, result.join()));
+        assertEquals(500, score("a"));
+    }
+
+    @Test
+    void failingRowDoesNotFailTheRestOfTheBatch() throws SQLException {
+
+        WriteBatcher batcher = batcher(60_000, 16);
+        CompletableFuture<Integer> first = batcher.submit(INSERT, bind("a", 1));
+        CompletableFuture<Integer> duplicate = batcher.submit(INSERT, bind("a", 2));
+        CompletableFuture<Integer> other = batcher.submit(INSERT, bind("b", 3));
+        batcher.flush();
+
+        assertEquals(1, first.join());
+        assertEquals(Statement.EXECUTE_FAILED, duplicate.join());
+        assertEquals(1, other.join());
+        assertEquals(1, score("a"));
+        assertEquals(3, score("b"));
+    }
+
+    @Test
+    void flushWritesWhatIsPendingRightAway() throws SQLException {
+
+        WriteBatcher batcher = batcher(60_000, 16);
+        CompletableFuture<Integer> result = batcher.submit(INSERT, bind("a", 7));
+        batcher.flush();
+
+        assertTrue(result.isDone());
+        assertEquals(7, score("a"));
+    }
+
+    @Test
+    void fullBatchDoesNotWaitForTheWindow() {
+
+        WriteBatcher batcher = batcher(60_000, 3);
+        List<CompletableFuture<Integer>> results = List.of(
+                batcher.submit(INSERT, bind("a", 1)),
+                batcher.submit(INSERT, bind("b", 2)),
+                batcher.submit(INSERT, bind("c", 3)));
+
+        results.forEach(result -> assertEquals(1, result.orTimeout(10, TimeUnit.SECONDS).join()));
+    }
+
+    private WriteBatcher batcher(long window, int maximumSize) {
+
+        return new WriteBatcher(() -> DriverManager.getConnection(url), writes, scheduler, Logger.getLogger("DataVerse"), window, maximumSize);
+    }
+
+    private static WriteBatcher.Binder bind(String id, int score) {
+
+        return statement -> {
+
+            statement.setString(1, id);
+            statement.setInt(2, score);
+        };
+    }
+
+    private static WriteBatcher.Binder update(String id, int score) {
+
+        return statement -> {
+
+            statement.setInt(1, score);
+            statement.setString(2, id);
+        };
+    }
+
+    private int score(String id) throws SQLException {
+
+        try (PreparedStatement statement = keepAlive.prepareStatement("SELECT score FROM scores WHERE id = ?")) {
+
+            statement.setString(1, id);
+            try (ResultSet results = statement.executeQuery()) {
+
+                assertTrue(results.next());
+                return results.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.danifoldi.dataverse.database.memory;
+
+import com.danifoldi.dataverse.database.EngineDataVerseTest;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+
+import java.util.HashMap;
+import java.util.logging.Logger;
+
+class MemoryDatabaseEngineTest extends EngineDataVerseTest {
+
+    @Override
+    protected NamespacedDatabaseEngine connect(TranslationEngine translationEngine) {
+
+        MemoryDatabaseEngine databaseEngine = new MemoryDatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(new HashMap<>(), translationEngine);
+        return databaseEngine;
+    }
+}
@@ -0,0 +1,72 @@
+package com.danifoldi.dataverse.database.mysql;
+
+import com.danifoldi.dataverse.database.EngineDataVerseTest;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.zaxxer.hikari.HikariConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+// the sql the mysql engine generates, run against h2 in its mysql compatibility mode instead of a server
+class MySQLDatabaseEngineTest extends EngineDataVerseTest {
+
+    @Override
+    protected NamespacedDatabaseEngine connect(TranslationEngine translationEngine) {
+
+        MySQLDatabaseEngine databaseEngine = new MySQLDatabaseEngine() {
+
+            @Override
+            public void connect(@NotNull Map<@NotNull String, @NotNull String> config, @NotNull TranslationEngine translationEngine) {
+
+                this.translationEngine = translationEngine;
+                HikariConfig hikariConfig = new HikariConfig();
+                hikariConfig.setPoolName("DataVerse Hikari MySQL Test Pool");
+                hikariConfig.setMaximumPoolSize(4);
+                hikariConfig.setIdleTimeout(0);
+                hikariConfig.setMaxLifetime(0);
+                hikariConfig.setDriverClassName(org.h2.Driver.class.getName());
+                hikariConfig.setJdbcUrl("jdbc:h2:mem:mysql%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE".formatted(UUID.randomUUID()));
+                open("MySQL", hikariConfig, config, 3600);
+            }
+
+            // the spellings h2 does not take in its mysql mode, every other statement runs as generated
+            @Override
+            protected @NotNull String nullSafeEquals() {
+
+                return "IS NOT DISTINCT FROM";
+            }
+
+            @Override
+            protected @NotNull String indexOptions() {
+
+                return "";
+            }
+
+            @Override
+            protected boolean indexExists(@NotNull Connection connection, @NotNull String table, @NotNull String index) throws SQLException {
+
+                try (final @NotNull PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM information_schema.indexes WHERE table_name = ? AND index_name = ?")) {
+
+                    statement.setString(1, table);
+                    statement.setString(2, index);
+
+                    try (final @NotNull ResultSet results = statement.executeQuery()) {
+
+                        return results.next();
+                    }
+                }
+            }
+        };
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(new HashMap<>(), translationEngine);
+        return databaseEngine;
+    }
+}
@@ -0,0 +1,64 @@
+package com.danifoldi.dataverse.database.redis;
+
+import com.danifoldi.dataverse.database.EngineDataVerseTest;
+import com.danifoldi.dataverse.database.NamespacedDatabaseEngine;
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+// runs against a locally started redis-server, skipped when none is listening
+// DATAVERSE_REDIS_HOST and DATAVERSE_REDIS_PORT point it somewhere else
+class RedisDatabaseEngineTest extends EngineDataVerseTest {
+
+    private static final String HOST = System.getenv().getOrDefault("DATAVERSE_REDIS_HOST", "127.0.0.1");
+    private static final int PORT = Integer.parseInt(System.getenv().getOrDefault("DATAVERSE_REDIS_PORT", "6379"));
+
+    // every test writes under a prefix of its own and removes it afterwards, the rest of the server is left alone
+    private String prefix;
+
+    @BeforeAll
+    static void reachable() {
+
+        try (Socket socket = new Socket()) {
+
+            socket.connect(new InetSocketAddress(HOST, PORT), 500);
+        } catch (IOException e) {
+
+            Assumptions.abort("No redis-server listening on %s:%d".formatted(HOST, PORT));
+        }
+    }
+
+    @Override
+    protected NamespacedDatabaseEngine connect(TranslationEngine translationEngine) {
+
+        prefix = "dataverse-test:%s:".formatted(UUID.randomUUID());
+        Map<String, String> config = new HashMap<>();
+        config.put("redis_host", HOST);
+        config.put("redis_port", String.valueOf(PORT));
+        config.put("redis_prefix", prefix);
+
+        RedisDatabaseEngine databaseEngine = new RedisDatabaseEngine();
+        databaseEngine.setLogger(Logger.getLogger("DataVerse"));
+        databaseEngine.connect(config, translationEngine);
+        return databaseEngine;
+    }
+
+    @AfterEach
+    void cleanup() {
+
+        try (Jedis jedis = new Jedis(HOST, PORT)) {
+
+            jedis.keys(prefix + "*").forEach(jedis::del);
+        }
+    }
+}
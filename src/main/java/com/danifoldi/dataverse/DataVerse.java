@@ -1,8 +1,13 @@
 package com.danifoldi.dataverse;
 
+import com.danifoldi.dataverse.data.CachedDataVerse;
+import com.danifoldi.dataverse.data.CoalescingDataVerse;
+import com.danifoldi.dataverse.data.CoalescingMultiDataVerse;
 import com.danifoldi.dataverse.data.Namespaced;
 import com.danifoldi.dataverse.data.NamespacedDataVerse;
 import com.danifoldi.dataverse.data.NamespacedMultiDataVerse;
+import com.danifoldi.dataverse.data.TrackingDataVerse;
+import com.danifoldi.dataverse.data.WriteBehindDataVerse;
 import com.danifoldi.dataverse.database.DatabaseEngine;
 import com.danifoldi.dataverse.database.StorageType;
 import com.danifoldi.dataverse.translation.TranslationEngine;
@@ -10,10 +15,16 @@ import com.danifoldi.dataverse.util.QuadFunction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
@@ -27,6 +38,16 @@ public class DataVerse {
     private @Nullable DatabaseEngine databaseEngine = null;
     private final @NotNull TranslationEngine translationEngine = new TranslationEngine();
     public @Nullable StorageType storageType;
+    private boolean coalesceReads = false;
+    private boolean trackChanges = false;
+    private int trackedMaximumSize;
+    private boolean cacheEnabled = false;
+    private int cacheMaximumSize;
+    private @NotNull Duration cacheTimeToLive = Duration.ZERO;
+    private boolean writeBehindEnabled = false;
+    private long writeBehindInterval;
+    private @Nullable ScheduledExecutorService writeBehindScheduler = null;
+    private final @NotNull List<@NotNull WriteBehindDataVerse<?>> writeBehindDataverses = new CopyOnWriteArrayList<>();
     private final @NotNull Logger logger = Logger.getLogger("DataVerse");
 
     private static DataVerse instance;
@@ -68,7 +89,29 @@ public class DataVerse {
         }
 
         //noinspection unchecked
-        return (NamespacedDataVerse<T>)dataverseProvider.apply(storageType, databaseEngine, namespace, instanceSupplier);
+        NamespacedDataVerse<T> dataverse = (NamespacedDataVerse<T>)dataverseProvider.apply(storageType, databaseEngine, namespace, instanceSupplier);
+        if (trackChanges) {
+
+            // innermost, so it sees every value as loaded before the layers above hand out copies
+            dataverse = new TrackingDataVerse<>(dataverse, namespace, instanceSupplier, translationEngine, trackedMaximumSize);
+        }
+        if (coalesceReads) {
+
+            dataverse = new CoalescingDataVerse<>(dataverse, namespace, instanceSupplier);
+        }
+        if (cacheEnabled) {
+
+            dataverse = new CachedDataVerse<>(dataverse, namespace, instanceSupplier, cacheMaximumSize, cacheTimeToLive);
+        }
+        if (writeBehindEnabled && writeBehindScheduler != null) {
+
+            // outermost, so the cache below is only invalidated once the write actually lands
+            WriteBehindDataVerse<T> writeBehind = new WriteBehindDataVerse<>(dataverse, namespace, instanceSupplier);
+            writeBehindScheduler.scheduleWithFixedDelay(writeBehind::flush, writeBehindInterval, writeBehindInterval, TimeUnit.SECONDS);
+            writeBehindDataverses.add(writeBehind);
+            dataverse = writeBehind;
+        }
+        return dataverse;
     }
 
     private <T> @NotNull NamespacedMultiDataVerse<@NotNull T> createNamespacedMultiDataVerse(String namespace, Supplier<T> instanceSupplier) {
@@ -80,7 +123,8 @@ public class DataVerse {
         }
 
         //noinspection unchecked
-        return (NamespacedMultiDataVerse<T>)multiDataverseProvider.apply(storageType, databaseEngine, namespace, instanceSupplier);
+        NamespacedMultiDataVerse<T> dataverse = (NamespacedMultiDataVerse<T>)multiDataverseProvider.apply(storageType, databaseEngine, namespace, instanceSupplier);
+        return coalesceReads ? new CoalescingMultiDataVerse<>(dataverse, namespace, instanceSupplier) : dataverse;
     }
 
     @SuppressWarnings("unused")
@@ -123,6 +167,23 @@ public class DataVerse {
             instance.databaseEngine = databaseEngineProvider.apply(instance.storageType);
             instance.dataverseProvider = dataverseProvider;
             instance.multiDataverseProvider = multiDataverseProvider;
+            instance.coalesceReads = Boolean.parseBoolean(config.getOrDefault("coalesce_reads", "false"));
+            instance.trackChanges = Boolean.parseBoolean(config.getOrDefault("update_track_changes", "false"));
+            instance.trackedMaximumSize = Integer.parseInt(config.getOrDefault("update_tracked_maximum_size", "10000"));
+            instance.cacheEnabled = Boolean.parseBoolean(config.getOrDefault("cache_enabled", "false"));
+            instance.cacheMaximumSize = Integer.parseInt(config.getOrDefault("cache_maximum_size", "10000"));
+            instance.cacheTimeToLive = Duration.ofSeconds(Long.parseLong(config.getOrDefault("cache_time_to_live", "30")));
+            instance.writeBehindEnabled = Boolean.parseBoolean(config.getOrDefault("write_behind_enabled", "false"));
+            instance.writeBehindInterval = Long.parseLong(config.getOrDefault("write_behind_interval", "5"));
+            if (instance.writeBehindEnabled) {
+
+                instance.writeBehindScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+                    Thread thread = new Thread(runnable, "DataVerse Write Behind");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
             instance.databaseEngine.setLogger(instance.logger);
             instance.databaseEngine.connect(config, instance.translationEngine);
 
@@ -130,6 +191,12 @@ public class DataVerse {
             instance.translationEngine.setupStandard();
             return () -> {
 
+                if (instance.writeBehindScheduler != null) {
+
+                    instance.writeBehindScheduler.shutdownNow();
+                }
+                // pending updates are written while the engine is still connected
+                CompletableFuture.allOf(instance.writeBehindDataverses.stream().map(WriteBehindDataVerse::flush).toArray(CompletableFuture[]::new)).handle((result, e) -> null).join();
                 if (instance.databaseEngine != null) {
 
                     instance.databaseEngine.close();
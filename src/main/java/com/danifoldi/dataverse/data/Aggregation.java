@@ -0,0 +1,46 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// what an aggregate read folds the values of one field into, null values are skipped like sql does
+public enum Aggregation {
+
+    MIN,
+    MAX,
+    AVG,
+    COUNT,
+    SUM;
+
+    // min, max and avg of no values have no result, count and sum are zero
+    public @Nullable BigDecimal empty() {
+
+        return this == COUNT || this == SUM ? BigDecimal.ZERO : null;
+    }
+
+    // for engines that aggregate client side, count only looks at whether a value is there
+    public @Nullable BigDecimal apply(final @NotNull Stream<@Nullable BigDecimal> values) {
+
+        List<BigDecimal> present = values.filter(Objects::nonNull).toList();
+        if (present.isEmpty()) {
+
+            return empty();
+        }
+
+        return switch (this) {
+
+            case MIN -> present.stream().min(Comparator.naturalOrder()).orElseThrow();
+            case MAX -> present.stream().max(Comparator.naturalOrder()).orElseThrow();
+            case AVG -> present.stream().reduce(BigDecimal.ZERO, BigDecimal::add).divide(BigDecimal.valueOf(present.size()), MathContext.DECIMAL64);
+            case COUNT -> BigDecimal.valueOf(present.size());
+            case SUM -> present.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        };
+    }
+}
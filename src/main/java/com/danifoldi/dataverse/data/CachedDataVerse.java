@@ -0,0 +1,119 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class CachedDataVerse<T> extends ForwardingNamespacedDataVerse<T> {
+
+    private final @NotNull NearCache<T> cache;
+
+    public CachedDataVerse(final @NotNull NamespacedDataVerse<T> delegate,
+                           final @NotNull String namespace,
+                           final @NotNull Supplier<@NotNull T> instanceSupplier,
+                           final int maximumSize,
+                           final @NotNull Duration timeToLive) {
+
+        super(delegate, namespace, instanceSupplier);
+        this.cache = new NearCache<>(maximumSize, timeToLive, this::copy);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        return delegate.create(key, value).whenComplete((result, e) -> cache.forget(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        Boolean known = cache.contains(key);
+        return known != null ? CompletableFuture.completedFuture(known) : delegate.exists(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        return cache.get(key, () -> delegate.get(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        // keys the cache cannot answer are loaded in one batch, each of them is then cached like a single get
+        Set<String> missing = keys.stream().filter(key -> cache.contains(key) == null).collect(Collectors.toSet());
+        CompletableFuture<Map<String, T>> batch = missing.isEmpty() ? CompletableFuture.completedFuture(Map.of()) : delegate.getAll(missing);
+
+        Map<String, CompletableFuture<T>> gets = new HashMap<>();
+        keys.forEach(key -> gets.computeIfAbsent(key, k -> cache.get(k, () -> missing.contains(k) ? batch.thenApply(values -> values.get(k)) : delegate.get(k))));
+        return collect(gets);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        return delegate.getOrCreate(key, value).whenComplete((result, e) -> cache.forget(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        // the row may have been created over an expired one, so a known expiry is not kept
+        return delegate.createOrUpdate(key, value).whenComplete((result, e) -> cache.forget(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        return delegate.update(key, value).whenComplete((result, e) -> cache.invalidate(key));
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        return delegate.update(key, value, fields).whenComplete((result, e) -> cache.invalidate(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return delegate.increment(key, field, delta).whenComplete((result, e) -> cache.invalidate(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        return delegate.compareAndSet(key, expected, value).whenComplete((result, e) -> cache.invalidate(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return delegate.delete(key).whenComplete((result, e) -> cache.forget(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return delegate.expire(key, expiry).whenComplete((result, e) -> {
+
+            if (e == null && result) {
+
+                cache.expire(key, expiry);
+            } else {
+
+                cache.invalidate(key);
+            }
+        });
+    }
+}
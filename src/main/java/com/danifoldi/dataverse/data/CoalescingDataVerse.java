@@ -0,0 +1,174 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class CoalescingDataVerse<T> extends ForwardingNamespacedDataVerse<T> {
+
+    private final @NotNull SingleFlight flights = new SingleFlight();
+
+    public CoalescingDataVerse(final @NotNull NamespacedDataVerse<T> delegate,
+                             final @NotNull String namespace,
+                             final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(delegate, namespace, instanceSupplier);
+    }
+
+    private @NotNull List<@NotNull T> copyAll(final @NotNull List<@NotNull T> values) {
+
+        return new ArrayList<>(values.stream().map(this::copy).toList());
+    }
+
+    private @NotNull List<@NotNull Pair<@NotNull String, @NotNull T>> copyPairs(final @NotNull List<@NotNull Pair<@NotNull String, @NotNull T>> values) {
+
+        return new ArrayList<>(values.stream().map(pair -> Pair.of(pair.getFirst(), copy(pair.getSecond()))).toList());
+    }
+
+    private @NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>> copyPage(final @NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>> page) {
+
+        return new Page<>(copyPairs(page.values()), page.next());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        return delegate.create(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        return flights.run(Arrays.asList("exists", key), () -> delegate.exists(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        return flights.run(Arrays.asList("get", key), () -> delegate.get(key)).thenApply(value -> value == null ? null : copy(value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        return flights.run(Arrays.asList("getAll", List.copyOf(keys)), () -> delegate.getAll(keys)).thenApply(values -> {
+
+            Map<String, T> copies = new HashMap<>();
+            values.forEach((key, value) -> copies.put(key, copy(value)));
+            return copies;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        return delegate.getOrCreate(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        return delegate.createOrUpdate(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return flights.run(Arrays.asList("keys"), () -> delegate.keys()).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return flights.run(Arrays.asList("keys", pageCount, pageLength), () -> delegate.keys(pageCount, pageLength)).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return flights.run(Arrays.asList("keys", pageCount, pageLength, sortKey, reverse), () -> delegate.keys(pageCount, pageLength, sortKey, reverse)).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull String>> keys(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return flights.run(Arrays.asList("keys", pageLength, sortKey, reverse, token), () -> delegate.keys(pageLength, sortKey, reverse, token)).thenApply(page -> new Page<>(new ArrayList<>(page.values()), page.next()));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return flights.run(Arrays.asList("query", query), () -> delegate.query(query)).thenApply(this::copyPairs);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query, @Nullable String token) {
+
+        return flights.run(Arrays.asList("query", query, token), () -> delegate.query(query, token)).thenApply(this::copyPage);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Long> count(@Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("count", filter), () -> delegate.count(filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregate", aggregation, field, filter), () -> delegate.aggregate(aggregation, field, filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregateBy", aggregation, field, groupBy, filter), () -> delegate.aggregateBy(aggregation, field, groupBy, filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        return delegate.update(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        return delegate.update(key, value, fields).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return delegate.increment(key, field, delta).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        return delegate.compareAndSet(key, expected, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return delegate.delete(key).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return delegate.expire(key, expiry).whenComplete((result, e) -> flights.detach());
+    }
+}
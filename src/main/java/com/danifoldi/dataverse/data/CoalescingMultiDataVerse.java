@@ -0,0 +1,126 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class CoalescingMultiDataVerse<T> extends ForwardingNamespacedMultiDataVerse<T> {
+
+    private final @NotNull SingleFlight flights = new SingleFlight();
+
+    public CoalescingMultiDataVerse(final @NotNull NamespacedMultiDataVerse<T> delegate,
+                                  final @NotNull String namespace,
+                                  final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(delegate, namespace, instanceSupplier);
+    }
+
+    private @NotNull List<@NotNull T> copyAll(final @NotNull List<@NotNull T> values) {
+
+        return new ArrayList<>(values.stream().map(this::copy).toList());
+    }
+
+    private @NotNull List<@NotNull Pair<@NotNull String, @NotNull T>> copyPairs(final @NotNull List<@NotNull Pair<@NotNull String, @NotNull T>> values) {
+
+        return new ArrayList<>(values.stream().map(pair -> Pair.of(pair.getFirst(), copy(pair.getSecond()))).toList());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> add(String key, T value) {
+
+        return delegate.add(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> empty(String key) {
+
+        return flights.run(Arrays.asList("empty", key), () -> delegate.empty(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return flights.run(Arrays.asList("keys"), () -> delegate.keys()).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return flights.run(Arrays.asList("keys", pageCount, pageLength), () -> delegate.keys(pageCount, pageLength)).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return flights.run(Arrays.asList("keys", pageCount, pageLength, sortKey, reverse), () -> delegate.keys(pageCount, pageLength, sortKey, reverse)).thenApply(ArrayList::new);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key, T value) {
+
+        return delegate.delete(key, value).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> deleteAll(String key) {
+
+        return delegate.deleteAll(key).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, T value, Instant expiry) {
+
+        return delegate.expire(key, value, expiry).whenComplete((result, e) -> flights.detach());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return flights.run(Arrays.asList("query", query), () -> delegate.query(query)).thenApply(this::copyPairs);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> query(String key, @NotNull Query query) {
+
+        return flights.run(Arrays.asList("query", key, query), () -> delegate.query(key, query)).thenApply(this::copyAll);
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Long> count(@Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return flights.run(Arrays.asList("count", key, filter, distinct), () -> delegate.count(key, filter, distinct));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregate", aggregation, field, filter), () -> delegate.aggregate(aggregation, field, filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregate", key, aggregation, field, filter), () -> delegate.aggregate(key, aggregation, field, filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregateBy", aggregation, field, groupBy, filter), () -> delegate.aggregateBy(aggregation, field, groupBy, filter));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return flights.run(Arrays.asList("aggregateBy", key, aggregation, field, groupBy, filter), () -> delegate.aggregateBy(key, aggregation, field, groupBy, filter));
+    }
+}
@@ -1,18 +1,36 @@
 package com.danifoldi.dataverse.data;
 
+import com.danifoldi.dataverse.translation.TranslationEngine;
 import com.google.common.reflect.TypeToken;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public abstract class FieldMappable<T> {
+    private static final @NotNull Object UNTRACKED = new Object();
+
     protected final @NotNull String namespace;
     protected final @NotNull Supplier<@NotNull T> instanceSupplier;
     protected final @NotNull Map<@NotNull String, @NotNull FieldSpec> fieldMap = new ConcurrentHashMap<>();
+    protected final @NotNull List<@NotNull IndexSpec> indexes = new ArrayList<>();
+    protected final @NotNull List<@NotNull FieldSpec> ranked = new ArrayList<>();
 
     public FieldMappable(final @NotNull String namespace,
                          final @NotNull Supplier<@NotNull T> instanceSupplier) {
@@ -38,6 +56,163 @@ public abstract class FieldMappable<T> {
 
             fieldMap.put(name, new FieldSpec(name, typeToken, field));
         }
+
+        buildIndexes();
+        buildRanked();
+    }
+
+    // composite fields are looked up by name, so every field has to be mapped first
+    private void buildIndexes() {
+
+        indexes.clear();
+        for (final FieldSpec spec: fieldMap.values()) {
+
+            final @Nullable Indexed indexed = spec.reflect().getAnnotation(Indexed.class);
+            if (indexed == null) {
+
+                continue;
+            }
+
+            final @NotNull List<FieldSpec> fields = new ArrayList<>();
+            fields.add(spec);
+            for (final String name: indexed.composite()) {
+
+                final @Nullable FieldSpec composite = fieldMap.get(name);
+                if (composite == null) {
+
+                    throw new IllegalArgumentException("Index on %s refers to unknown field %s".formatted(spec.name(), name));
+                }
+                fields.add(composite);
+            }
+            indexes.add(new IndexSpec(fields));
+        }
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private void buildRanked() {
+
+        ranked.clear();
+        for (final FieldSpec spec: fieldMap.values()) {
+
+            if (!spec.reflect().isAnnotationPresent(Ranked.class)) {
+
+                continue;
+            }
+            if (!Number.class.isAssignableFrom(spec.type().wrap().getRawType())) {
+
+                throw new IllegalArgumentException("Leaderboards can only be kept for numeric fields, %s is not one".formatted(spec.name()));
+            }
+            ranked.add(spec);
+        }
+    }
+
+    // shallow copy over the mapped fields, so values held by a cache or shared between callers stay untouched
+    protected @NotNull T copy(final @NotNull T value) {
+
+        final @NotNull T copy = instanceSupplier.get();
+        for (final FieldSpec spec: fieldMap.values()) {
+
+            if (Modifier.isStatic(spec.reflect().getModifiers())) {
+
+                continue;
+            }
+
+            try {
+
+                spec.reflect().set(copy, spec.reflect().get(value));
+            } catch (ReflectiveOperationException e) {
+
+                throw new IllegalStateException(e);
+            }
+        }
+        return copy;
+    }
+
+    protected @NotNull Map<@NotNull String, @NotNull FieldSpec> fields(final @NotNull Collection<@NotNull FieldSpec> fields) {
+
+        final @NotNull Map<String, FieldSpec> subset = new LinkedHashMap<>();
+        for (final FieldSpec spec: fields) {
+
+            subset.put(spec.name(), spec);
+        }
+        return subset;
+    }
+
+    // no fields reads all of them, keyset reads also need the field they seek on to hand out the next token
+    protected @NotNull Map<@NotNull String, @NotNull FieldSpec> projection(final @NotNull FieldSpec @NotNull [] fields, final @Nullable FieldSpec sortKey) {
+
+        if (fields.length == 0) {
+
+            return fieldMap;
+        }
+
+        final @NotNull Map<String, FieldSpec> projection = fields(Arrays.asList(fields));
+        if (sortKey != null) {
+
+            projection.putIfAbsent(sortKey.name(), sortKey);
+        }
+        return projection;
+    }
+
+    // what every field holds right now, values that can change in place are kept in their encoded form
+    protected @NotNull Map<@NotNull String, @Nullable Object> snapshot(final @NotNull T value, final @NotNull TranslationEngine translationEngine) {
+
+        final @NotNull Map<String, Object> snapshot = new HashMap<>();
+        for (final FieldSpec spec: fieldMap.values()) {
+
+            final @Nullable Object field;
+            try {
+
+                field = spec.reflect().get(value);
+            } catch (ReflectiveOperationException e) {
+
+                throw new IllegalStateException(e);
+            }
+
+            if (field == null || immutable(field)) {
+
+                snapshot.put(spec.name(), field);
+                continue;
+            }
+            final @Nullable Function<Object, String> encoder = translationEngine.getJavaTypeToString(spec.type().toString());
+            snapshot.put(spec.name(), encoder == null ? UNTRACKED : encoder.apply(field));
+        }
+        return snapshot;
+    }
+
+    // fields that differ between two snapshots, a field that could not be snapshot always counts as changed
+    protected @NotNull List<@NotNull FieldSpec> changed(final @NotNull Map<@NotNull String, @Nullable Object> before,
+                                                        final @NotNull Map<@NotNull String, @Nullable Object> after) {
+
+        final @NotNull List<FieldSpec> changed = new ArrayList<>();
+        for (final FieldSpec spec: fieldMap.values()) {
+
+            final @Nullable Object value = after.get(spec.name());
+            if (value == UNTRACKED || !before.containsKey(spec.name()) || !Objects.equals(before.get(spec.name()), value)) {
+
+                changed.add(spec);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean immutable(final @NotNull Object value) {
+
+        return value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum<?> || value instanceof UUID
+                || value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+                || value instanceof Float || value instanceof Double || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    @SuppressWarnings("unused")
+    public @NotNull List<@NotNull IndexSpec> getIndexes() {
+
+        return List.copyOf(indexes);
+    }
+
+    @SuppressWarnings("unused")
+    public @NotNull List<@NotNull FieldSpec> getRanked() {
+
+        return List.copyOf(ranked);
     }
 
     @SuppressWarnings("unused")
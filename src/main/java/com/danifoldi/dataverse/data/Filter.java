@@ -0,0 +1,101 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// a predicate over the fields of a value, every engine compiles the whole tree into a single native query
+public sealed interface Filter {
+
+    record Min(@NotNull FieldSpec field, @NotNull BigDecimal cutoff) implements Filter {}
+
+    record Max(@NotNull FieldSpec field, @NotNull BigDecimal cutoff) implements Filter {}
+
+    // the value is a BigDecimal, a String or a Boolean
+    record Equals(@NotNull FieldSpec field, @NotNull Object value) implements Filter {}
+
+    record In(@NotNull FieldSpec field, @NotNull List<@NotNull Object> values) implements Filter {}
+
+    record Prefix(@NotNull FieldSpec field, @NotNull String prefix) implements Filter {}
+
+    record And(@NotNull List<@NotNull Filter> filters) implements Filter {}
+
+    record Or(@NotNull List<@NotNull Filter> filters) implements Filter {}
+
+    static @NotNull Filter min(final @NotNull FieldSpec field, final @NotNull BigDecimal cutoff) {
+
+        return new Min(field, cutoff);
+    }
+
+    static @NotNull Filter max(final @NotNull FieldSpec field, final @NotNull BigDecimal cutoff) {
+
+        return new Max(field, cutoff);
+    }
+
+    static @NotNull Filter between(final @NotNull FieldSpec field, final @NotNull BigDecimal min, final @NotNull BigDecimal max) {
+
+        return and(min(field, min), max(field, max));
+    }
+
+    static @NotNull Filter equal(final @NotNull FieldSpec field, final @NotNull BigDecimal value) {
+
+        return new Equals(field, value);
+    }
+
+    static @NotNull Filter equal(final @NotNull FieldSpec field, final @NotNull String value) {
+
+        return new Equals(field, value);
+    }
+
+    static @NotNull Filter equal(final @NotNull FieldSpec field, final boolean value) {
+
+        return new Equals(field, value);
+    }
+
+    static @NotNull Filter in(final @NotNull FieldSpec field, final @NotNull Collection<?> values) {
+
+        return new In(field, values.stream().map(Filter::operand).toList());
+    }
+
+    static @NotNull Filter prefix(final @NotNull FieldSpec field, final @NotNull String prefix) {
+
+        return new Prefix(field, prefix);
+    }
+
+    static @NotNull Filter and(final @NotNull Filter @NotNull ... filters) {
+
+        return new And(List.copyOf(Arrays.asList(filters)));
+    }
+
+    static @NotNull Filter or(final @NotNull Filter @NotNull ... filters) {
+
+        return new Or(List.copyOf(Arrays.asList(filters)));
+    }
+
+    default @NotNull Filter and(final @NotNull Filter other) {
+
+        return and(this, other);
+    }
+
+    default @NotNull Filter or(final @NotNull Filter other) {
+
+        return or(this, other);
+    }
+
+    // numbers are compared as decimals on every engine, whatever type they were given as
+    private static @NotNull Object operand(final @NotNull Object value) {
+
+        if (value instanceof BigDecimal || value instanceof String || value instanceof Boolean) {
+
+            return value;
+        }
+        if (value instanceof Number number) {
+
+            return new BigDecimal(number.toString());
+        }
+        throw new IllegalArgumentException("Unsupported filter value " + value);
+    }
+}
@@ -0,0 +1,171 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// hands every call to the wrapped dataverse, decorators override only the calls they change
+public abstract class ForwardingNamespacedDataVerse<T> extends NamespacedDataVerse<T> {
+
+    protected final @NotNull NamespacedDataVerse<T> delegate;
+
+    public ForwardingNamespacedDataVerse(final @NotNull NamespacedDataVerse<T> delegate,
+                                         final @NotNull String namespace,
+                                         final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(namespace, instanceSupplier);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        return delegate.exists(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        return delegate.create(key, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        return delegate.get(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        return delegate.getOrCreate(key, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return delegate.keys();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return delegate.keys(pageCount, pageLength);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return delegate.keys(pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull String>> keys(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return delegate.keys(pageLength, sortKey, reverse, token);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return delegate.query(query);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query, @Nullable String token) {
+
+        return delegate.query(query, token);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Long> count(@Nullable Filter filter) {
+
+        return delegate.count(filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return delegate.aggregate(aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return delegate.aggregateBy(aggregation, field, groupBy, filter);
+    }
+
+    @Override
+    public @NotNull Leaderboard leaderboard(@NotNull FieldSpec field) {
+
+        return delegate.leaderboard(field);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        return delegate.createOrUpdate(key, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        return delegate.update(key, value);
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        return delegate.update(key, value, fields);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return delegate.increment(key, field, delta);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        return delegate.compareAndSet(key, expected, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return delegate.delete(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return delegate.expire(key, expiry);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> flush(String key) {
+
+        return delegate.flush(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> flush() {
+
+        return delegate.flush();
+    }
+}
@@ -0,0 +1,122 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// hands every call to the wrapped multi dataverse, decorators override only the calls they change
+public abstract class ForwardingNamespacedMultiDataVerse<T> extends NamespacedMultiDataVerse<T> {
+
+    protected final @NotNull NamespacedMultiDataVerse<T> delegate;
+
+    public ForwardingNamespacedMultiDataVerse(final @NotNull NamespacedMultiDataVerse<T> delegate,
+                                              final @NotNull String namespace,
+                                              final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(namespace, instanceSupplier);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> empty(String key) {
+
+        return delegate.empty(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> add(String key, T value) {
+
+        return delegate.add(key, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys() {
+
+        return delegate.keys();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength) {
+
+        return delegate.keys(pageCount, pageLength);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return delegate.keys(pageCount, pageLength, sortKey, reverse);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key, T value) {
+
+        return delegate.delete(key, value);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> deleteAll(String key) {
+
+        return delegate.deleteAll(key);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, T value, Instant expiry) {
+
+        return delegate.expire(key, value, expiry);
+    }
+
+    @Override
+    public @NotNull Leaderboard leaderboard(@NotNull FieldSpec field) {
+
+        return delegate.leaderboard(field);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query) {
+
+        return delegate.query(query);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> query(String key, @NotNull Query query) {
+
+        return delegate.query(key, query);
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Long> count(@Nullable String key, @Nullable Filter filter, boolean distinct) {
+
+        return delegate.count(key, filter, distinct);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return delegate.aggregate(aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+
+        return delegate.aggregate(key, aggregation, field, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return delegate.aggregateBy(aggregation, field, groupBy, filter);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+
+        return delegate.aggregateBy(key, aggregation, field, groupBy, filter);
+    }
+}
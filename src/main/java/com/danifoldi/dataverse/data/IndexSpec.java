@@ -0,0 +1,24 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// a secondary index declared with @Indexed, the first field is the annotated one
+public record IndexSpec(@NotNull List<@NotNull FieldSpec> fields) {
+
+    public IndexSpec {
+
+        if (fields.isEmpty()) {
+
+            throw new IllegalArgumentException("An index needs at least one field");
+        }
+        fields = List.copyOf(fields);
+    }
+
+    public @NotNull String name() {
+
+        return fields.stream().map(FieldSpec::name).collect(Collectors.joining("_", "by_", ""));
+    }
+}
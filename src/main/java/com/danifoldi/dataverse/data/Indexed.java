@@ -0,0 +1,15 @@
+package com.danifoldi.dataverse.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// asks every engine to keep a secondary index on the field, so filters and sorted reads on it skip the full scan
+// composite names the fields that follow it in the same index, in order
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Indexed {
+
+    String[] composite() default {};
+}
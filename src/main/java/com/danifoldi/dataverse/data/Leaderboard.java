@@ -0,0 +1,159 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// the values of one numeric field kept in order in memory, highest first
+// it is loaded from the database when the dataverse is set up and then kept up to date by the writes the dataverse makes
+// updates held back by a write-behind dataverse only move it once they are flushed
+public class Leaderboard {
+
+    private final @NotNull FieldSpec field;
+    private final @NotNull Supplier<@NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>>> source;
+    private final @NotNull RankIndex index = new RankIndex();
+    // keys written while loading, what was loaded for them is already out of date
+    private final @NotNull Set<@NotNull String> written = new HashSet<>();
+    private boolean loading = false;
+    // a rebuild started later wins over one still loading
+    private int generation = 0;
+    private @NotNull CompletableFuture<@Nullable Void> ready = CompletableFuture.completedFuture(null);
+
+    Leaderboard(final @NotNull FieldSpec field,
+                final @NotNull Supplier<@NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>>> source) {
+
+        this.field = field;
+        this.source = source;
+    }
+
+    public @NotNull FieldSpec getField() {
+
+        return field;
+    }
+
+    // reads every score again, lookups wait until it is done
+    public synchronized @NotNull CompletableFuture<@Nullable Void> rebuild() {
+
+        int current = ++generation;
+        index.clear();
+        written.clear();
+        loading = true;
+
+        CompletableFuture<Void> loaded = source.get().thenAccept(scores -> load(current, scores));
+        ready = loaded.whenComplete((result, e) -> {
+
+            synchronized (this) {
+
+                if (generation == current) {
+
+                    loading = false;
+                    written.clear();
+                }
+            }
+        });
+        return ready;
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>> top(final int limit) {
+
+        return top(1, limit);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>> top(final int pageCount, final int pageLength) {
+
+        if (pageCount < 1 || pageLength < 1) {
+
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Page count and length must be positive"));
+        }
+        int from = (pageCount - 1) * pageLength;
+        return read(() -> index.range(from, from + pageLength));
+    }
+
+    // equal scores share a rank, the next one skips as many places
+    public @NotNull CompletableFuture<@Nullable Long> rank(final @NotNull String key) {
+
+        return read(() -> {
+
+            BigDecimal score = index.score(key);
+            return score == null ? null : index.above(score) + 1;
+        });
+    }
+
+    public @NotNull CompletableFuture<@Nullable Long> rank(final @NotNull UUID key) {
+
+        return rank(key.toString());
+    }
+
+    public @NotNull CompletableFuture<@Nullable BigDecimal> score(final @NotNull String key) {
+
+        return read(() -> index.score(key));
+    }
+
+    public @NotNull CompletableFuture<@Nullable BigDecimal> score(final @NotNull UUID key) {
+
+        return score(key.toString());
+    }
+
+    public @NotNull CompletableFuture<@NotNull Integer> size() {
+
+        return read(index::size);
+    }
+
+    synchronized void put(final @NotNull String key, final @Nullable BigDecimal score) {
+
+        if (loading) {
+
+            written.add(key);
+        }
+        index.put(key, score);
+    }
+
+    // an unranked key stays unranked, while loading its score is whatever the load reads
+    synchronized void add(final @NotNull String key, final @NotNull BigDecimal delta) {
+
+        BigDecimal score = index.score(key);
+        if (score != null) {
+
+            put(key, score.add(delta));
+        }
+    }
+
+    private synchronized void load(final int current, final @NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>> scores) {
+
+        if (generation != current) {
+
+            return;
+        }
+        for (Pair<String, BigDecimal> score: scores) {
+
+            if (!written.contains(score.getFirst())) {
+
+                index.put(score.getFirst(), score.getSecond());
+            }
+        }
+    }
+
+    private <R> @NotNull CompletableFuture<R> read(final @NotNull Supplier<R> lookup) {
+
+        final CompletableFuture<Void> current;
+        synchronized (this) {
+
+            current = ready;
+        }
+        return current.thenApply(done -> {
+
+            synchronized (this) {
+
+                return lookup.get();
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// the leaderboards of the fields a dataverse declared with @Ranked, the dataverse keeps them in step with its writes
+public class Leaderboards<T> {
+
+    private final @NotNull Map<@NotNull String, @NotNull Leaderboard> leaderboards = new HashMap<>();
+
+    public Leaderboards(final @NotNull List<@NotNull FieldSpec> fields,
+                        final @NotNull Function<@NotNull FieldSpec, @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>>>> source) {
+
+        for (FieldSpec field: fields) {
+
+            leaderboards.put(field.name(), new Leaderboard(field, () -> source.apply(field)));
+        }
+    }
+
+    // reads every score again, lookups wait until it is done
+    public @NotNull CompletableFuture<@Nullable Void> rebuild() {
+
+        return CompletableFuture.allOf(leaderboards.values().stream().map(Leaderboard::rebuild).toArray(CompletableFuture[]::new));
+    }
+
+    public @NotNull Leaderboard get(final @NotNull FieldSpec field) {
+
+        Leaderboard leaderboard = leaderboards.get(field.name());
+        if (leaderboard == null) {
+
+            throw new IllegalArgumentException("No leaderboard is kept for %s, declare it with @Ranked".formatted(field.name()));
+        }
+        return leaderboard;
+    }
+
+    public boolean isEmpty() {
+
+        return leaderboards.isEmpty();
+    }
+
+    public boolean contains(final @NotNull FieldSpec field) {
+
+        return leaderboards.containsKey(field.name());
+    }
+
+    // scores are taken when the write is made, the value may change before it lands
+    public @NotNull Map<@NotNull Leaderboard, @Nullable BigDecimal> scores(final @Nullable T value, final @Nullable Map<String, FieldSpec> fields) {
+
+        Map<Leaderboard, BigDecimal> scores = new HashMap<>();
+        for (Leaderboard leaderboard: leaderboards.values()) {
+
+            if (fields == null || fields.containsKey(leaderboard.getField().name())) {
+
+                scores.put(leaderboard, value == null ? null : score(leaderboard.getField(), value));
+            }
+        }
+        return scores;
+    }
+
+    // a key holding several values is ranked by the highest of them
+    public @NotNull Map<@NotNull Leaderboard, @Nullable BigDecimal> best(final @NotNull List<@NotNull T> values) {
+
+        Map<Leaderboard, BigDecimal> scores = new HashMap<>();
+        for (Leaderboard leaderboard: leaderboards.values()) {
+
+            scores.put(leaderboard, values.stream().map(value -> score(leaderboard.getField(), value)).filter(Objects::nonNull).max(BigDecimal::compareTo).orElse(null));
+        }
+        return scores;
+    }
+
+    public @NotNull Map<@NotNull Leaderboard, @Nullable BigDecimal> removed() {
+
+        Map<Leaderboard, BigDecimal> scores = new HashMap<>();
+        leaderboards.values().forEach(leaderboard -> scores.put(leaderboard, null));
+        return scores;
+    }
+
+    public void index(final @NotNull String key, final @NotNull Map<@NotNull Leaderboard, @Nullable BigDecimal> scores) {
+
+        scores.forEach((leaderboard, score) -> leaderboard.put(key, score));
+    }
+
+    // the stored value changed by delta, so the ranked score does too without reading it back
+    public void increment(final @NotNull String key, final @NotNull FieldSpec field, final @NotNull BigDecimal delta) {
+
+        Leaderboard leaderboard = leaderboards.get(field.name());
+        if (leaderboard != null) {
+
+            leaderboard.add(key, delta);
+        }
+    }
+
+    public static @Nullable BigDecimal score(final @NotNull FieldSpec field, final @NotNull Object value) {
+
+        try {
+
+            Object score = field.reflect().get(value);
+            if (score instanceof BigDecimal decimal) {
+
+                return decimal;
+            }
+            if (score instanceof Double || score instanceof Float) {
+
+                // infinities and nan have no place on a leaderboard
+                double number = ((Number)score).doubleValue();
+                return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+            }
+            return score instanceof Number number ? new BigDecimal(number.toString()) : null;
+        } catch (ReflectiveOperationException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+}
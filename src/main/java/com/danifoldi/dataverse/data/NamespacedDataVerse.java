@@ -6,9 +6,15 @@ import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
@@ -20,13 +26,38 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
 
     public @NotNull CompletableFuture<@NotNull Boolean> exists(final @NotNull String key) {
 
-        return CompletableFuture.supplyAsync(() -> get(key).join() != null);
+        return get(key).thenApply(Objects::nonNull);
     }
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value);
 
     public abstract @NotNull CompletableFuture<@Nullable T> get(String key);
 
+    // missing and expired keys are left out of the map
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        Map<String, CompletableFuture<T>> gets = new HashMap<>();
+        keys.forEach(key -> gets.computeIfAbsent(key, this::get));
+        return collect(gets);
+    }
+
+    protected @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> collect(Map<String, CompletableFuture<T>> gets) {
+
+        return CompletableFuture.allOf(gets.values().toArray(CompletableFuture[]::new)).thenApply(done -> {
+
+            Map<String, T> values = new HashMap<>();
+            gets.forEach((key, get) -> {
+
+                T value = get.join();
+                if (value != null) {
+
+                    values.put(key, value);
+                }
+            });
+            return values;
+        });
+    }
+
     public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
 
         return exists(key).thenCompose(exists -> {
@@ -47,75 +78,428 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
 
     public abstract @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list();
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list() {
+
+        return select(null, 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength) {
+
+        return select(null, pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(null, pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return select(Filter.min(filterKey, cutoff), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return select(Filter.min(filterKey, cutoff), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.min(filterKey, cutoff), pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return select(Filter.equal(filterKey, cutoff), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return select(Filter.equal(filterKey, cutoff), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.equal(filterKey, cutoff), pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value) {
+
+        return select(Filter.equal(filterKey, value), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return select(Filter.max(filterKey, cutoff), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return select(Filter.max(filterKey, cutoff), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.max(filterKey, cutoff), pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value) {
+
+        return select(Filter.equal(filterKey, value), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix) {
+
+        return select(Filter.prefix(filterKey, prefix), 1, 0, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength) {
+
+        return select(Filter.prefix(filterKey, prefix), pageCount, pageLength, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return select(Filter.prefix(filterKey, prefix), pageCount, pageLength, sortKey, reverse);
+    }
+
+    // keyset pages in key order, or in sort key order with the key breaking ties, the next token of a page continues right after it
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull String>> keys(int pageLength, @Nullable String token) {
+
+        return keys(pageLength, null, false, token);
+    }
+
+    public abstract @NotNull CompletableFuture<@NotNull Page<@NotNull String>> keys(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token);
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageLength, @Nullable String token) {
+
+        return seek(null, pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(null, pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable String token) {
+
+        return seek(Filter.min(filterKey, cutoff), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.min(filterKey, cutoff), pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, cutoff), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, cutoff), pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageLength, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable String token) {
+
+        return seek(Filter.max(filterKey, cutoff), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.max(filterKey, cutoff), pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageLength, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, sortKey, reverse, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageLength, @Nullable String token) {
+
+        return seek(Filter.prefix(filterKey, prefix), pageLength, null, false, token);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token) {
+
+        return seek(Filter.prefix(filterKey, prefix), pageLength, sortKey, reverse, token);
+    }
+
+    // reads are issued one page of fetchSize at a time as the subscriber requests values, so exports run in constant memory
+    public @NotNull Flow.Publisher<@NotNull String> streamKeys(int fetchSize) {
+
+        return streamKeys(fetchSize, null, false);
+    }
+
+    public @NotNull Flow.Publisher<@NotNull String> streamKeys(int fetchSize, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return new PagePublisher<>(token -> keys(fetchSize, sortKey, reverse, token));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> stream(@NotNull Query query) {
+
+        return new PagePublisher<>(token -> query(query, token));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> stream(int fetchSize) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength);
+        return stream(fetchSize, null, false);
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> stream(int fetchSize, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return stream(new Query(null, sortKey, reverse, 1, fetchSize, List.of()));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterMin(FieldSpec filterKey, BigDecimal cutoff, int fetchSize) {
+
+        return stream(Query.where(Filter.min(filterKey, cutoff)).limit(fetchSize));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterEquals(FieldSpec filterKey, BigDecimal cutoff, int fetchSize) {
+
+        return stream(Query.where(Filter.equal(filterKey, cutoff)).limit(fetchSize));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterEquals(FieldSpec filterKey, String value, int fetchSize) {
+
+        return stream(Query.where(Filter.equal(filterKey, value)).limit(fetchSize));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterMax(FieldSpec filterKey, BigDecimal cutoff, int fetchSize) {
+
+        return stream(Query.where(Filter.max(filterKey, cutoff)).limit(fetchSize));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterBool(FieldSpec filterKey, boolean value, int fetchSize) {
+
+        return stream(Query.where(Filter.equal(filterKey, value)).limit(fetchSize));
+    }
+
+    public @NotNull Flow.Publisher<@NotNull Pair<@NotNull String, @NotNull T>> streamFilterPrefix(FieldSpec filterKey, String prefix, int fetchSize) {
+
+        return stream(Query.where(Filter.prefix(filterKey, prefix)).limit(fetchSize));
+    }
+
+    // projected reads only fetch and map the given fields, the rest of every value is left as the instance supplier created it
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(null, pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.min(filterKey, cutoff), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.equal(filterKey, cutoff), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.max(filterKey, cutoff), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
+
+        return select(Filter.prefix(filterKey, prefix), pageCount, pageLength, sortKey, reverse, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(null, pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.min(filterKey, cutoff), pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.equal(filterKey, cutoff), pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.max(filterKey, cutoff), pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.equal(filterKey, value), pageLength, sortKey, reverse, token, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return seek(Filter.prefix(filterKey, prefix), pageLength, sortKey, reverse, token, fields);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    // the per filter reads above are all answered by these
+    private @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> select(@Nullable Filter filter, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, FieldSpec... fields) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff);
+        return query(new Query(filter, sortKey, reverse, pageCount, pageLength, Arrays.asList(fields)));
+    }
+
+    private @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> seek(@Nullable Filter filter, int pageLength, @Nullable FieldSpec sortKey, boolean reverse, @Nullable String token, FieldSpec... fields) {
+
+        return query(new Query(filter, sortKey, reverse, 1, pageLength, Arrays.asList(fields)), token);
+    }
+
+    // every filter, the order, the page and the projection of a query are answered by a single native read
+    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query);
+
+    // the page length of the query is the length of every keyset page, its page count is not used
+    public abstract @NotNull CompletableFuture<@NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query, @Nullable String token);
+
+    public abstract @NotNull CompletableFuture<@NotNull Long> count(@Nullable Filter filter);
+
+    public @NotNull CompletableFuture<@NotNull Long> count() {
+
+        return count((Filter) null);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMin(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(Filter.min(filterKey, cutoff));
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(Filter.equal(filterKey, cutoff));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, String value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return count(Filter.equal(filterKey, value));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMax(FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+        return count(Filter.max(filterKey, cutoff));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterBool(FieldSpec filterKey, boolean value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value);
+        return count(Filter.equal(filterKey, value));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(FieldSpec filterKey, String prefix) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return count(Filter.prefix(filterKey, prefix));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sum(FieldSpec sumKey) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+        return sum(sumKey, null);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value);
+        return sum(sumKey, Filter.min(filterKey, cutoff));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return sum(sumKey, Filter.equal(filterKey, cutoff));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, String value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength);
+        return sum(sumKey, Filter.equal(filterKey, value));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> count();
+        return sum(sumKey, Filter.max(filterKey, cutoff));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMin(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(FieldSpec sumKey, FieldSpec filterKey, boolean value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, BigDecimal cutoff);
+        return sum(sumKey, Filter.equal(filterKey, value));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(FieldSpec sumKey, FieldSpec filterKey, String prefix) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMax(FieldSpec filterKey, BigDecimal cutoff);
+        return sum(sumKey, Filter.prefix(filterKey, prefix));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterBool(FieldSpec filterKey, boolean value);
+    private @NotNull CompletableFuture<@NotNull BigDecimal> sum(FieldSpec sumKey, @Nullable Filter filter) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(FieldSpec filterKey, String prefix);
+        return aggregate(Aggregation.SUM, sumKey, filter).thenApply(sum -> sum == null ? BigDecimal.ZERO : sum);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sum(FieldSpec sumKey);
+    // min, max and avg complete with null when nothing matched
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+        return aggregate(aggregation, field, null);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+    public abstract @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter);
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, String value);
+    // one result per value of the group field, values without one are left out
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+        return aggregateBy(aggregation, field, groupBy, null);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(FieldSpec sumKey, FieldSpec filterKey, boolean value);
+    public abstract @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter);
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(FieldSpec sumKey, FieldSpec filterKey, String prefix);
+    // top scores and ranks of a field declared with @Ranked, answered from memory
+    public abstract @NotNull Leaderboard leaderboard(@NotNull FieldSpec field);
 
     public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
 
@@ -124,10 +508,43 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value);
 
+    // writes only the given fields, the rest of the stored value is left as it is
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, FieldSpec... fields) {
+
+        if (fields.length == 0) {
+
+            return exists(key);
+        }
+        return update(key, value, fields(Arrays.asList(fields)));
+    }
+
+    protected abstract @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields);
+
+    // adds to the stored number without reading it first, missing values count as zero
+    public abstract @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta);
+
+    public @NotNull CompletableFuture<@NotNull Boolean> decrement(String key, FieldSpec field, BigDecimal delta) {
+
+        return increment(key, field, delta.negate());
+    }
+
+    // replaces the value only while every field still holds what was expected
+    public abstract @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value);
+
     public abstract @NotNull CompletableFuture<@NotNull Boolean> delete(String key);
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry);
 
+    public @NotNull CompletableFuture<@NotNull Boolean> flush(String key) {
+
+        return CompletableFuture.completedFuture(true);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> flush() {
+
+        return CompletableFuture.completedFuture(true);
+    }
+
 
     public @NotNull CompletableFuture<@NotNull Boolean> exists(UUID key) {
 
@@ -144,6 +561,12 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
         return get(key.toString());
     }
 
+    // UUID keys are returned in their string form
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAllByUUID(Collection<UUID> keys) {
+
+        return getAll(keys.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull CompletableFuture<@NotNull T> getOrCreate(UUID key, T value) {
 
         return getOrCreate(key.toString(), value);
@@ -159,6 +582,26 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
         return update(key.toString(), value);
     }
 
+    public @NotNull CompletableFuture<@NotNull Boolean> update(UUID key, T value, FieldSpec... fields) {
+
+        return update(key.toString(), value, fields);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(UUID key, FieldSpec field, BigDecimal delta) {
+
+        return increment(key.toString(), field, delta);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> decrement(UUID key, FieldSpec field, BigDecimal delta) {
+
+        return decrement(key.toString(), field, delta);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(UUID key, T expected, T value) {
+
+        return compareAndSet(key.toString(), expected, value);
+    }
+
     public @NotNull CompletableFuture<@NotNull Boolean> delete(UUID key) {
 
         return delete(key.toString());
@@ -168,4 +611,9 @@ public abstract class NamespacedDataVerse<T> extends FieldMappable<T> {
 
         return expire(key.toString(), expiry);
     }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> flush(UUID key) {
+
+        return flush(key.toString());
+    }
 }
@@ -2,10 +2,12 @@ package com.danifoldi.dataverse.data;
 
 import com.danifoldi.microbase.util.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
@@ -20,16 +22,25 @@ public abstract class NamespacedMultiDataVerse<T> extends FieldMappable<T> {
 
     public @NotNull CompletableFuture<@NotNull Boolean> empty(final @NotNull String key) {
 
-        return CompletableFuture.supplyAsync(() -> get(key).join().isEmpty());
+        return get(key).thenApply(List::isEmpty);
     }
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> add(String key, T value);
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key, int pageCount, int pageLength);
+        return query(key, select(null, 1, 0, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key, int pageCount, int pageLength) {
+
+        return query(key, select(null, pageCount, pageLength, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> get(String key, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(key, select(null, pageCount, pageLength, sortKey, reverse));
+    }
 
     public abstract @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys();
 
@@ -37,11 +48,20 @@ public abstract class NamespacedMultiDataVerse<T> extends FieldMappable<T> {
 
     public abstract @NotNull CompletableFuture<@NotNull List<@NotNull String>> keys(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list();
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list() {
+
+        return query(select(null, 1, 0, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength);
+        return query(select(null, pageCount, pageLength, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> list(int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(null, pageCount, pageLength, sortKey, reverse));
+    }
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> delete(String key, T value);
 
@@ -49,318 +69,631 @@ public abstract class NamespacedMultiDataVerse<T> extends FieldMappable<T> {
 
     public abstract @NotNull CompletableFuture<@NotNull Boolean> expire(String key, T value, Instant expiry);
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff);
+    // top scores and ranks of a field declared with @Ranked, every key is ranked by the highest of its values
+    public abstract @NotNull Leaderboard leaderboard(@NotNull FieldSpec field);
+
+    // every filter, the order, the page and the projection of a query are answered by a single native read
+    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> query(@NotNull Query query);
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff);
+    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> query(String key, @NotNull Query query);
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> query(UUID key, @NotNull Query query) {
+        return query(key.toString(), query);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> count(@NotNull Filter filter) {
+
+        return count(null, filter, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> count(String key, @NotNull Filter filter) {
+
+        return count(key, filter, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countDistinct(@NotNull Filter filter) {
+
+        return count(null, filter, true);
+    }
+
+    // distinct counts the keys holding a match instead of the matches
+    protected abstract @NotNull CompletableFuture<@NotNull Long> count(@Nullable String key, @Nullable Filter filter, boolean distinct);
+
+    // the per filter reads below are all answered by these
+    private @NotNull Query select(@Nullable Filter filter, int pageCount, int pageLength, @Nullable FieldSpec sortKey, boolean reverse) {
+
+        return new Query(filter, sortKey, reverse, pageCount, pageLength, List.of());
+    }
+
+    private @NotNull CompletableFuture<@NotNull BigDecimal> sum(@Nullable String key, FieldSpec sumKey, @Nullable Filter filter) {
+
+        return (key == null ? aggregate(Aggregation.SUM, sumKey, filter) : aggregate(key, Aggregation.SUM, sumKey, filter)).thenApply(sum -> sum == null ? BigDecimal.ZERO : sum);
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return query(select(Filter.min(filterKey, cutoff), 1, 0, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return query(key, select(Filter.min(filterKey, cutoff), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return filterMin(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return query(select(Filter.min(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+        return query(key, select(Filter.min(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
         return filterMin(key.toString(), filterKey, cutoff, pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMin(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(Filter.min(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(key, select(Filter.min(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMin(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterMin(key.toString(), filterKey, cutoff, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return query(select(Filter.equal(filterKey, cutoff), 1, 0, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return query(key, select(Filter.equal(filterKey, cutoff), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return filterEquals(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return query(select(Filter.equal(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+        return query(key, select(Filter.equal(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
         return filterEquals(key.toString(), filterKey, cutoff, pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return query(select(Filter.equal(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(key, select(Filter.equal(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterEquals(key.toString(), filterKey, cutoff, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value);
+        return query(select(Filter.equal(filterKey, value), 1, 0, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value) {
+
+        return query(key, select(Filter.equal(filterKey, value), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, String value) {
         return filterEquals(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength) {
+
+        return query(select(Filter.equal(filterKey, value), pageCount, pageLength, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value, int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value, int pageCount, int pageLength);
+        return query(key, select(Filter.equal(filterKey, value), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, String value, int pageCount, int pageLength) {
         return filterEquals(key.toString(), filterKey, value, pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterEquals(FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(String key, FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return query(key, select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterEquals(UUID key, FieldSpec filterKey, String value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterEquals(key.toString(), filterKey, value, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return query(select(Filter.max(filterKey, cutoff), 1, 0, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return query(key, select(Filter.max(filterKey, cutoff), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return filterMax(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength);
+        return query(select(Filter.max(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
+
+        return query(key, select(Filter.max(filterKey, cutoff), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength) {
         return filterMax(key.toString(), filterKey, cutoff,pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterMax(FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(Filter.max(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(String key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return query(key, select(Filter.max(filterKey, cutoff), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterMax(UUID key, FieldSpec filterKey, BigDecimal cutoff, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterMax(key.toString(), filterKey, cutoff, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value) {
+
+        return query(select(Filter.equal(filterKey, value), 1, 0, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value) {
+
+        return query(key, select(Filter.equal(filterKey, value), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(UUID key, FieldSpec filterKey, boolean value) {
         return filterBool(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value, int pageCount, int pageLength);
+        return query(select(Filter.equal(filterKey, value), pageCount, pageLength, null, false));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value, int pageCount, int pageLength) {
+
+        return query(key, select(Filter.equal(filterKey, value), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(UUID key, FieldSpec filterKey, boolean value, int pageCount, int pageLength) {
         return filterBool(key.toString(), filterKey, value, pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterBool(FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(String key, FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return query(key, select(Filter.equal(filterKey, value), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterBool(UUID key, FieldSpec filterKey, boolean value, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterBool(key.toString(), filterKey, value, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix) {
+
+        return query(select(Filter.prefix(filterKey, prefix), 1, 0, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix) {
+
+        return query(key, select(Filter.prefix(filterKey, prefix), 1, 0, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(UUID key, FieldSpec filterKey, String prefix) {
         return filterPrefix(key.toString(), filterKey, prefix);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength) {
+
+        return query(select(Filter.prefix(filterKey, prefix), pageCount, pageLength, null, false));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix, int pageCount, int pageLength);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix, int pageCount, int pageLength) {
+
+        return query(key, select(Filter.prefix(filterKey, prefix), pageCount, pageLength, null, false));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(UUID key, FieldSpec filterKey, String prefix, int pageCount, int pageLength) {
         return filterPrefix(key.toString(), filterKey, prefix, pageCount, pageLength);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Pair<@NotNull String, @NotNull T>>> filterPrefix(FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
+
+        return query(select(Filter.prefix(filterKey, prefix), pageCount, pageLength, sortKey, reverse));
+    }
+
+    public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
 
-    public abstract @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(String key, FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse);
+        return query(key, select(Filter.prefix(filterKey, prefix), pageCount, pageLength, sortKey, reverse));
+    }
 
     public @NotNull CompletableFuture<@NotNull List<@NotNull T>> filterPrefix(UUID key, FieldSpec filterKey, String prefix, int pageCount, int pageLength, FieldSpec sortKey, boolean reverse) {
         return filterPrefix(key.toString(), filterKey, prefix, pageCount, pageLength, sortKey, reverse);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> count();
+    public @NotNull CompletableFuture<@NotNull Long> count() {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> count(String key);
+        return count(null, null, false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> count(String key) {
+
+        return count(key, null, false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> count(UUID key) {
         return count(key.toString());
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMin(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMin(FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMin(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return count(null, Filter.min(filterKey, cutoff), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMin(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(key, Filter.min(filterKey, cutoff), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterMin(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countFilterMin(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(null, Filter.equal(filterKey, cutoff), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(String key, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return count(key, Filter.equal(filterKey, cutoff), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countFilterEquals(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(FieldSpec filterKey, String value) {
+
+        return count(null, Filter.equal(filterKey, value), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(String key, FieldSpec filterKey, String value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterEquals(String key, FieldSpec filterKey, String value);
+        return count(key, Filter.equal(filterKey, value), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterEquals(UUID key, FieldSpec filterKey, String value) {
         return countFilterEquals(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMax(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMax(FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterMax(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return count(null, Filter.max(filterKey, cutoff), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterMax(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(key, Filter.max(filterKey, cutoff), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterMax(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countFilterMax(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterBool(FieldSpec filterKey, boolean value);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterBool(FieldSpec filterKey, boolean value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterBool(String key, FieldSpec filterKey, boolean value);
+        return count(null, Filter.equal(filterKey, value), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterBool(String key, FieldSpec filterKey, boolean value) {
+
+        return count(key, Filter.equal(filterKey, value), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterBool(UUID key, FieldSpec filterKey, boolean value) {
         return countFilterBool(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(FieldSpec filterKey, String prefix) {
+
+        return count(null, Filter.prefix(filterKey, prefix), false);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(String key, FieldSpec filterKey, String prefix) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(String key, FieldSpec filterKey, String prefix);
+        return count(key, Filter.prefix(filterKey, prefix), false);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countFilterPrefix(UUID key, FieldSpec filterKey, String prefix) {
         return countFilterPrefix(key.toString(), filterKey, prefix);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinct();
+    public @NotNull CompletableFuture<@NotNull Long> countDistinct() {
+
+        return count(null, null, true);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinct(String key);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinct(String key) {
+
+        return count(key, null, true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinct(UUID key) {
         return countDistinct(key.toString());
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMin(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMin(FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMin(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return count(null, Filter.min(filterKey, cutoff), true);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMin(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(key, Filter.min(filterKey, cutoff), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMin(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countDistinctFilterMin(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(null, Filter.equal(filterKey, cutoff), true);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(String key, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(String key, FieldSpec filterKey, BigDecimal cutoff);
+        return count(key, Filter.equal(filterKey, cutoff), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countDistinctFilterEquals(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(FieldSpec filterKey, String value) {
+
+        return count(null, Filter.equal(filterKey, value), true);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(String key, FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(String key, FieldSpec filterKey, String value) {
+
+        return count(key, Filter.equal(filterKey, value), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterEquals(UUID key, FieldSpec filterKey, String value) {
         return countDistinctFilterEquals(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMax(FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMax(FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(null, Filter.max(filterKey, cutoff), true);
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMax(String key, FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMax(String key, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return count(key, Filter.max(filterKey, cutoff), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterMax(UUID key, FieldSpec filterKey, BigDecimal cutoff) {
         return countDistinctFilterMax(key.toString(), filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterBool(FieldSpec filterKey, boolean value);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterBool(FieldSpec filterKey, boolean value) {
+
+        return count(null, Filter.equal(filterKey, value), true);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterBool(String key, FieldSpec filterKey, boolean value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterBool(String key, FieldSpec filterKey, boolean value);
+        return count(key, Filter.equal(filterKey, value), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterBool(UUID key, FieldSpec filterKey, boolean value) {
         return countDistinctFilterBool(key.toString(), filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterPrefix(FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterPrefix(FieldSpec filterKey, String prefix) {
 
-    public abstract @NotNull CompletableFuture<@NotNull Long> countDistinctFilterPrefix(String key, FieldSpec filterKey, String prefix);
+        return count(null, Filter.prefix(filterKey, prefix), true);
+    }
+
+    public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterPrefix(String key, FieldSpec filterKey, String prefix) {
+
+        return count(key, Filter.prefix(filterKey, prefix), true);
+    }
 
     public @NotNull CompletableFuture<@NotNull Long> countDistinctFilterPrefix(UUID key, FieldSpec filterKey, String prefix) {
         return countDistinctFilterPrefix(key.toString(), filterKey, prefix);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sum(FieldSpec sumKey);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sum(FieldSpec sumKey) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sum(String key, FieldSpec sumKey);
+        return sum(null, sumKey, null);
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sum(String key, FieldSpec sumKey) {
+
+        return sum(key, sumKey, null);
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sum(UUID key, FieldSpec sumKey) {
         return sum(key.toString(), sumKey);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return sum(null, sumKey, Filter.min(filterKey, cutoff));
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+        return sum(key, sumKey, Filter.min(filterKey, cutoff));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMin(UUID key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
         return sumFilterMin(key.toString(), sumKey, filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return sum(null, sumKey, Filter.equal(filterKey, cutoff));
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+        return sum(key, sumKey, Filter.equal(filterKey, cutoff));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(UUID key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
         return sumFilterEquals(key.toString(), sumKey, filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, String value);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(FieldSpec sumKey, FieldSpec filterKey, String value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(String key, FieldSpec sumKey, FieldSpec filterKey, String value);
+        return sum(null, sumKey, Filter.equal(filterKey, value));
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(String key, FieldSpec sumKey, FieldSpec filterKey, String value) {
+
+        return sum(key, sumKey, Filter.equal(filterKey, value));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterEquals(UUID key, FieldSpec sumKey, FieldSpec filterKey, String value) {
         return sumFilterEquals(key.toString(), sumKey, filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff);
+        return sum(null, sumKey, Filter.max(filterKey, cutoff));
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(String key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
+
+        return sum(key, sumKey, Filter.max(filterKey, cutoff));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterMax(UUID key, FieldSpec sumKey, FieldSpec filterKey, BigDecimal cutoff) {
         return sumFilterMax(key.toString(), sumKey, filterKey, cutoff);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(FieldSpec sumKey, FieldSpec filterKey, boolean value);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(FieldSpec sumKey, FieldSpec filterKey, boolean value) {
+
+        return sum(null, sumKey, Filter.equal(filterKey, value));
+    }
+
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(String key, FieldSpec sumKey, FieldSpec filterKey, boolean value) {
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(String key, FieldSpec sumKey, FieldSpec filterKey, boolean value);
+        return sum(key, sumKey, Filter.equal(filterKey, value));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterBool(UUID key, FieldSpec sumKey, FieldSpec filterKey, boolean value) {
         return sumFilterBool(key.toString(), sumKey, filterKey, value);
     }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(FieldSpec sumKey, FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(FieldSpec sumKey, FieldSpec filterKey, String prefix) {
+
+        return sum(null, sumKey, Filter.prefix(filterKey, prefix));
+    }
 
-    public abstract @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(String key, FieldSpec sumKey, FieldSpec filterKey, String prefix);
+    public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(String key, FieldSpec sumKey, FieldSpec filterKey, String prefix) {
+
+        return sum(key, sumKey, Filter.prefix(filterKey, prefix));
+    }
 
     public @NotNull CompletableFuture<@NotNull BigDecimal> sumFilterPrefix(UUID key, FieldSpec sumKey, FieldSpec filterKey, String prefix) {
         return sumFilterPrefix(key.toString(), sumKey, filterKey, prefix);
     }
 
+    // min, max and avg complete with null when nothing matched
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field) {
+
+        return aggregate(aggregation, field, null);
+    }
+
+    public abstract @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter);
+
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field) {
+
+        return aggregate(key, aggregation, field, null);
+    }
+
+    public abstract @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter);
+
+    public @NotNull CompletableFuture<@Nullable BigDecimal> aggregate(UUID key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @Nullable Filter filter) {
+        return aggregate(key.toString(), aggregation, field, filter);
+    }
+
+    // one result per value of the group field, values without one are left out
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy) {
+
+        return aggregateBy(aggregation, field, groupBy, null);
+    }
+
+    public abstract @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(@NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter);
+
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy) {
+
+        return aggregateBy(key, aggregation, field, groupBy, null);
+    }
+
+    public abstract @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(String key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter);
+
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull BigDecimal>> aggregateBy(UUID key, @NotNull Aggregation aggregation, @NotNull FieldSpec field, @NotNull FieldSpec groupBy, @Nullable Filter filter) {
+        return aggregateBy(key.toString(), aggregation, field, groupBy, filter);
+    }
+
     public @NotNull CompletableFuture<@NotNull Boolean> empty(UUID key) {
 
         return empty(key.toString());
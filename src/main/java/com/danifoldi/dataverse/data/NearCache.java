@@ -0,0 +1,175 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+public class NearCache<T> {
+
+    private final long timeToLive;
+    private final @NotNull UnaryOperator<T> copier;
+    private final @NotNull Map<@NotNull String, @NotNull Entry<T>> entries;
+    // only keys with a load in flight have a version, so the map stays as small as the loads
+    private final @NotNull Map<@NotNull String, @NotNull Version> versions = new HashMap<>();
+    private long generation = 0;
+
+    private static final class Version {
+
+        private long writes = 0;
+        private int loads = 0;
+    }
+
+    private record Entry<T>(@Nullable T value, boolean loaded, @Nullable Instant expiry, long cachedAt) {
+
+        boolean fresh(long now, long timeToLive) {
+
+            return loaded && now - cachedAt < timeToLive;
+        }
+
+        boolean expired(long now) {
+
+            return expiry != null && expiry.toEpochMilli() <= now;
+        }
+    }
+
+    public NearCache(int maximumSize, @NotNull Duration timeToLive, @NotNull UnaryOperator<T> copier) {
+
+        this.timeToLive = timeToLive.toMillis();
+        this.copier = copier;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public @NotNull CompletableFuture<@Nullable T> get(@NotNull String key, @NotNull Supplier<@NotNull CompletableFuture<@Nullable T>> loader) {
+
+        long now = System.currentTimeMillis();
+        final @Nullable Entry<T> entry;
+        synchronized (entries) {
+
+            entry = entries.get(key);
+        }
+
+        if (entry != null && entry.fresh(now, timeToLive)) {
+
+            return CompletableFuture.completedFuture(entry.value() == null || entry.expired(now) ? null : copier.apply(entry.value()));
+        }
+
+        final @NotNull Version version;
+        final long stamp;
+        final long cleared;
+        synchronized (entries) {
+
+            version = versions.computeIfAbsent(key, k -> new Version());
+            version.loads++;
+            stamp = version.writes;
+            cleared = generation;
+        }
+
+        // a known expiry outlives reloads, only create and delete reset it
+        final @Nullable Instant expiry = entry == null ? null : entry.expiry();
+        return loader.get().whenComplete((value, failure) -> {
+
+            Entry<T> loaded = failure != null ? null : new Entry<>(value == null ? null : copier.apply(value), true, expiry, System.currentTimeMillis());
+            synchronized (entries) {
+
+                if (--version.loads == 0) {
+
+                    versions.remove(key);
+                }
+                // a write to the same key finished while loading, the value may predate it
+                if (loaded != null && version.writes == stamp && generation == cleared) {
+
+                    entries.put(key, loaded);
+                }
+            }
+        });
+    }
+
+    // whether a fresh entry says the key exists, null when the cache does not know
+    public @Nullable Boolean contains(@NotNull String key) {
+
+        long now = System.currentTimeMillis();
+        final @Nullable Entry<T> entry;
+        synchronized (entries) {
+
+            entry = entries.get(key);
+        }
+
+        if (entry == null || !entry.fresh(now, timeToLive)) {
+
+            return null;
+        }
+        return entry.value() != null && !entry.expired(now);
+    }
+
+    public void invalidate(@NotNull String key) {
+
+        synchronized (entries) {
+
+            written(key);
+            Entry<T> entry = entries.remove(key);
+            if (entry != null && entry.expiry() != null) {
+
+                entries.put(key, new Entry<>(null, false, entry.expiry(), 0));
+            }
+        }
+    }
+
+    public void forget(@NotNull String key) {
+
+        synchronized (entries) {
+
+            written(key);
+            entries.remove(key);
+        }
+    }
+
+    public void expire(@NotNull String key, @Nullable Instant expiry) {
+
+        synchronized (entries) {
+
+            written(key);
+            Entry<T> entry = entries.get(key);
+            if (entry != null) {
+
+                entries.put(key, new Entry<>(entry.value(), entry.loaded(), expiry, entry.cachedAt()));
+            } else if (expiry != null) {
+
+                entries.put(key, new Entry<>(null, false, expiry, 0));
+            }
+        }
+    }
+
+    // callers hold the lock on the entries
+    private void written(@NotNull String key) {
+
+        Version version = versions.get(key);
+        if (version != null) {
+
+            version.writes++;
+        }
+    }
+
+    public void clear() {
+
+        synchronized (entries) {
+
+            generation++;
+            entries.clear();
+        }
+    }
+}
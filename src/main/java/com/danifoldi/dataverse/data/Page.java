@@ -0,0 +1,40 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+// one page of a keyset read, next is passed back to read the page after it and is null on the last page
+public record Page<V>(@NotNull List<@NotNull V> values, @Nullable String next) {
+
+    // rows are read one past the page length, so a full page only hands out a token when there is more to read
+    public static <T> @NotNull Page<@NotNull Pair<@NotNull String, @NotNull T>> of(final @NotNull List<@NotNull Pair<@NotNull String, @NotNull T>> rows,
+                                                                                 final int pageLength,
+                                                                                 final @Nullable FieldSpec sortKey,
+                                                                                 final boolean reverse,
+                                                                                 final @NotNull TranslationEngine translationEngine) {
+
+        if (rows.size() <= pageLength) {
+
+            return new Page<>(rows, null);
+        }
+
+        List<Pair<String, T>> values = rows.subList(0, pageLength);
+        Pair<String, T> last = values.get(pageLength - 1);
+        return new Page<>(values, PageToken.of(sortKey, reverse, last.getFirst(), last.getSecond()).encode(translationEngine));
+    }
+
+    public <R> @NotNull Page<@NotNull R> map(final @NotNull Function<@NotNull V, @NotNull R> mapper) {
+
+        return new Page<>(values.stream().map(mapper).toList(), next);
+    }
+
+    public boolean hasNext() {
+
+        return next != null;
+    }
+}
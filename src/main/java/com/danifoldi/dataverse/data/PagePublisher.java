@@ -0,0 +1,150 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// publishes a keyset read page by page, the next page is only read once the subscriber asked for more than is buffered
+public class PagePublisher<V> implements Flow.Publisher<V> {
+
+    private final @NotNull Function<@Nullable String, @NotNull CompletableFuture<@NotNull Page<@NotNull V>>> pages;
+    // values are handed to the subscriber here, so a slow subscriber never holds an engine thread
+    private final @NotNull Executor delivery;
+
+    public PagePublisher(final @NotNull Function<@Nullable String, @NotNull CompletableFuture<@NotNull Page<@NotNull V>>> pages) {
+
+        this(pages, ForkJoinPool.commonPool());
+    }
+
+    public PagePublisher(final @NotNull Function<@Nullable String, @NotNull CompletableFuture<@NotNull Page<@NotNull V>>> pages,
+                         final @NotNull Executor delivery) {
+
+        this.pages = pages;
+        this.delivery = delivery;
+    }
+
+    @Override
+    public void subscribe(final @NotNull Flow.Subscriber<? super V> subscriber) {
+
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private class PageSubscription implements Flow.Subscription {
+
+        private final @NotNull Flow.Subscriber<? super V> subscriber;
+        private final @NotNull Queue<@NotNull V> buffer = new ConcurrentLinkedQueue<>();
+        private final @NotNull AtomicLong demand = new AtomicLong();
+        // drains never run concurrently, whoever finds it at zero drains on behalf of everyone that came in meanwhile
+        private final @NotNull AtomicInteger work = new AtomicInteger();
+        private volatile @Nullable String token = null;
+        private volatile @Nullable Throwable error = null;
+        private volatile boolean fetching = false;
+        private volatile boolean exhausted = false;
+        private volatile boolean done = false;
+
+        private PageSubscription(final @NotNull Flow.Subscriber<? super V> subscriber) {
+
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+
+            if (n <= 0) {
+
+                error = new IllegalArgumentException("Requested a non-positive number of values");
+            } else {
+
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+
+            done = true;
+            buffer.clear();
+        }
+
+        private void drain() {
+
+            if (work.getAndIncrement() != 0) {
+
+                return;
+            }
+
+            do {
+
+                while (!done && demand.get() > 0 && !buffer.isEmpty()) {
+
+                    demand.decrementAndGet();
+                    subscriber.onNext(buffer.poll());
+                }
+                if (done || fetching) {
+
+                    continue;
+                }
+
+                Throwable failure = error;
+                if (failure != null) {
+
+                    done = true;
+                    buffer.clear();
+                    subscriber.onError(failure);
+                } else if (buffer.isEmpty() && exhausted) {
+
+                    done = true;
+                    subscriber.onComplete();
+                } else if (buffer.isEmpty() && demand.get() > 0) {
+
+                    fetching = true;
+                    fetch();
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+
+        private void fetch() {
+
+            final @NotNull CompletableFuture<@NotNull Page<@NotNull V>> page;
+            try {
+
+                page = pages.apply(token);
+            } catch (RuntimeException e) {
+
+                // picked up by the drain that is running this fetch
+                error = e;
+                fetching = false;
+                work.incrementAndGet();
+                return;
+            }
+
+            page.whenCompleteAsync((result, e) -> {
+
+                if (e != null) {
+
+                    error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                } else {
+
+                    buffer.addAll(result.values());
+                    token = result.next();
+                    exhausted = result.next() == null;
+                }
+                fetching = false;
+                drain();
+            }, delivery);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+// where a keyset read stopped, the last row's key and sort value along with the order it was read in
+public record PageToken(@Nullable FieldSpec sortKey, boolean reverse, @NotNull String key, @Nullable Object value) {
+
+    private static final int VERSION = 1;
+
+    public static @NotNull PageToken of(final @Nullable FieldSpec sortKey,
+                                        final boolean reverse,
+                                        final @NotNull String key,
+                                        final @Nullable Object row) {
+
+        if (sortKey == null) {
+
+            return new PageToken(null, reverse, key, null);
+        }
+
+        try {
+
+            return new PageToken(sortKey, reverse, key, row == null ? null : sortKey.reflect().get(row));
+        } catch (ReflectiveOperationException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    public @NotNull String encode(final @NotNull TranslationEngine translationEngine) {
+
+        return encode(sortKey == null || value == null ? null : encodeValue(value, sortKey.type().toString(), translationEngine));
+    }
+
+    private @NotNull String encode(@Nullable String encodedValue) {
+
+        try {
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            out.writeUTF(sortKey == null ? "" : sortKey.name());
+            out.writeBoolean(reverse);
+            out.writeUTF(key);
+            out.writeBoolean(encodedValue != null);
+            out.writeUTF(encodedValue == null ? "" : encodedValue);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // tokens only continue the ordering they were handed out for
+    @SuppressWarnings("UnstableApiUsage")
+    public static @Nullable PageToken decode(final @Nullable String token,
+                                             final @Nullable FieldSpec sortKey,
+                                             final boolean reverse,
+                                             final @NotNull TranslationEngine translationEngine) {
+
+        if (token == null) {
+
+            return null;
+        }
+
+        final String name;
+        final boolean tokenReverse;
+        final String key;
+        final String encodedValue;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+
+            if (in.readByte() != VERSION) {
+
+                throw new IllegalArgumentException("Unsupported page token");
+            }
+            name = in.readUTF();
+            tokenReverse = in.readBoolean();
+            key = in.readUTF();
+            boolean present = in.readBoolean();
+            String value = in.readUTF();
+            encodedValue = present ? value : null;
+        } catch (IOException | IllegalArgumentException e) {
+
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+
+        if (!name.equals(sortKey == null ? "" : sortKey.name()) || tokenReverse != reverse) {
+
+            throw new IllegalArgumentException("Page token was handed out for a different order");
+        }
+        if (sortKey == null) {
+
+            return new PageToken(null, reverse, key, null);
+        }
+
+        try {
+
+            return new PageToken(sortKey, reverse, key, encodedValue == null ? null : decodeValue(encodedValue, sortKey, translationEngine));
+        } catch (RuntimeException e) {
+
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+    }
+
+    private static @NotNull String encodeValue(Object value, String javaType, TranslationEngine translationEngine) {
+
+        Function<Object, String> encoder = translationEngine.getJavaTypeToString(javaType);
+        if (encoder != null) {
+
+            return encoder.apply(value);
+        }
+        if (value instanceof BigDecimal decimal) {
+
+            return decimal.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    @SuppressWarnings({"UnstableApiUsage", "unchecked", "rawtypes"})
+    private static @NotNull Object decodeValue(String value, FieldSpec sortKey, TranslationEngine translationEngine) {
+
+        String javaType = sortKey.type().toString();
+        Function<String, Object> decoder = translationEngine.getStringToJavaType(javaType);
+        if (decoder != null) {
+
+            return Objects.requireNonNull(decoder.apply(value));
+        }
+        Class<?> raw = sortKey.type().getRawType();
+        if (raw.isEnum()) {
+
+            return Enum.valueOf((Class<? extends Enum>)raw, value);
+        }
+        return switch (javaType) {
+
+            case "int", "java.lang.Integer" -> Integer.parseInt(value);
+            case "long", "java.lang.Long" -> Long.parseLong(value);
+            case "short", "java.lang.Short" -> Short.parseShort(value);
+            case "byte", "java.lang.Byte" -> Byte.parseByte(value);
+            case "float", "java.lang.Float" -> Float.parseFloat(value);
+            case "double", "java.lang.Double" -> Double.parseDouble(value);
+            case "boolean", "java.lang.Boolean" -> Boolean.parseBoolean(value);
+            case "char", "java.lang.Character" -> value.charAt(0);
+            case "java.math.BigDecimal" -> new BigDecimal(value);
+            case "java.math.BigInteger" -> new BigInteger(value);
+            case "java.util.UUID" -> UUID.fromString(value);
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+// what a read returns: which values, which of their fields, in which order and which page of them
+public record Query(@Nullable Filter filter,
+                    @Nullable FieldSpec sortKey,
+                    boolean reverse,
+                    int pageCount,
+                    int pageLength,
+                    @NotNull List<@NotNull FieldSpec> fields) {
+
+    public Query {
+
+        if (pageCount < 1) {
+
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        fields = List.copyOf(fields);
+    }
+
+    public static @NotNull Query all() {
+
+        return new Query(null, null, false, 1, 0, List.of());
+    }
+
+    public static @NotNull Query where(final @NotNull Filter filter) {
+
+        return all().and(filter);
+    }
+
+    public @NotNull Query and(final @NotNull Filter filter) {
+
+        return new Query(this.filter == null ? filter : this.filter.and(filter), sortKey, reverse, pageCount, pageLength, fields);
+    }
+
+    public @NotNull Query or(final @NotNull Filter filter) {
+
+        // everything or anything else is still everything
+        return this.filter == null ? this : new Query(this.filter.or(filter), sortKey, reverse, pageCount, pageLength, fields);
+    }
+
+    public @NotNull Query sortBy(final @NotNull FieldSpec sortKey) {
+
+        return sortBy(sortKey, false);
+    }
+
+    public @NotNull Query sortBy(final @NotNull FieldSpec sortKey, final boolean reverse) {
+
+        return new Query(filter, sortKey, reverse, pageCount, pageLength, fields);
+    }
+
+    // a page length of zero or less reads every match
+    public @NotNull Query page(final int pageCount, final int pageLength) {
+
+        return new Query(filter, sortKey, reverse, pageCount, pageLength, fields);
+    }
+
+    public @NotNull Query limit(final int limit) {
+
+        return page(1, limit);
+    }
+
+    public @NotNull Query select(final @NotNull FieldSpec @NotNull ... fields) {
+
+        return new Query(filter, sortKey, reverse, pageCount, pageLength, Arrays.asList(fields));
+    }
+}
@@ -0,0 +1,170 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// an order statistic treap, every node knows the size of its subtree so positions and ranks are found in O(log n)
+// higher scores come first, equal scores are ordered by key, callers synchronize
+class RankIndex {
+
+    private final @NotNull Map<@NotNull String, @NotNull BigDecimal> scores = new HashMap<>();
+    private @Nullable Node root = null;
+
+    void put(final @NotNull String key, final @Nullable BigDecimal score) {
+
+        BigDecimal previous = score == null ? scores.remove(key) : scores.put(key, score);
+        if (previous != null) {
+
+            Node[] rest = split(root, previous, key);
+            // the smallest key after this one, so only the node itself is cut out
+            Node[] removed = split(rest[1], previous, key + '\0');
+            root = merge(rest[0], removed[1]);
+        }
+        if (score != null) {
+
+            Node[] parts = split(root, score, key);
+            root = merge(merge(parts[0], new Node(key, score)), parts[1]);
+        }
+    }
+
+    void clear() {
+
+        scores.clear();
+        root = null;
+    }
+
+    @Nullable BigDecimal score(final @NotNull String key) {
+
+        return scores.get(key);
+    }
+
+    int size() {
+
+        return size(root);
+    }
+
+    // how many keys have a strictly higher score, equal scores share a rank
+    long above(final @NotNull BigDecimal score) {
+
+        long count = 0;
+        Node node = root;
+        while (node != null) {
+
+            if (node.score.compareTo(score) > 0) {
+
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    @NotNull List<@NotNull Pair<@NotNull String, @NotNull BigDecimal>> range(final int from, final int to) {
+
+        List<Pair<String, BigDecimal>> entries = new ArrayList<>(Math.max(0, Math.min(to, size()) - from));
+        collect(root, from, to, entries);
+        return entries;
+    }
+
+    // only the subtrees overlapping the range are visited
+    private static void collect(@Nullable Node node, int from, int to, List<Pair<String, BigDecimal>> entries) {
+
+        if (node == null || from >= to) {
+
+            return;
+        }
+
+        int left = size(node.left);
+        if (from < left) {
+
+            collect(node.left, from, Math.min(to, left), entries);
+        }
+        if (from <= left && left < to) {
+
+            entries.add(Pair.of(node.key, node.score));
+        }
+        if (to > left + 1) {
+
+            collect(node.right, Math.max(0, from - left - 1), to - left - 1, entries);
+        }
+    }
+
+    // nodes ranked before the given score and key go left
+    private static @Nullable Node @NotNull [] split(@Nullable Node node, BigDecimal score, String key) {
+
+        if (node == null) {
+
+            return new Node[] {null, null};
+        }
+
+        int comparison = node.score.compareTo(score);
+        if (comparison > 0 || comparison == 0 && node.key.compareTo(key) < 0) {
+
+            Node[] parts = split(node.right, score, key);
+            node.right = parts[0];
+            node.resize();
+            return new Node[] {node, parts[1]};
+        }
+
+        Node[] parts = split(node.left, score, key);
+        node.left = parts[1];
+        node.resize();
+        return new Node[] {parts[0], node};
+    }
+
+    private static @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+
+        if (left == null || right == null) {
+
+            return left == null ? right : left;
+        }
+
+        if (left.priority > right.priority) {
+
+            left.right = merge(left.right, right);
+            left.resize();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.resize();
+        return right;
+    }
+
+    private static int size(@Nullable Node node) {
+
+        return node == null ? 0 : node.size;
+    }
+
+    private static class Node {
+
+        private final @NotNull String key;
+        private final @NotNull BigDecimal score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private @Nullable Node left = null;
+        private @Nullable Node right = null;
+        private int size = 1;
+
+        private Node(final @NotNull String key, final @NotNull BigDecimal score) {
+
+            this.key = key;
+            this.score = score;
+        }
+
+        private void resize() {
+
+            size = size(left) + size(right) + 1;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.danifoldi.dataverse.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// keeps a leaderboard of the numeric field in memory, it is loaded when the dataverse is set up
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Ranked {
+
+}
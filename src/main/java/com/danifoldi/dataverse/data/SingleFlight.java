@@ -0,0 +1,52 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+class SingleFlight {
+
+    private final @NotNull Map<@NotNull List<?>, @NotNull CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <R> @NotNull CompletableFuture<R> run(final @NotNull List<?> call, final @NotNull Supplier<@NotNull CompletableFuture<R>> loader) {
+
+        final @NotNull CompletableFuture<R> flight = new CompletableFuture<>();
+        final CompletableFuture<R> existing = (CompletableFuture<R>)inFlight.putIfAbsent(call, flight);
+        if (existing != null) {
+
+            return existing;
+        }
+
+        try {
+
+            loader.get().whenComplete((result, e) -> {
+
+                // later callers must not join a finished call
+                inFlight.remove(call, flight);
+                if (e != null) {
+
+                    flight.completeExceptionally(e);
+                } else {
+
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+
+            inFlight.remove(call, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight;
+    }
+
+    // calls started before a write finished may not reflect it, so callers arriving after the write start their own
+    void detach() {
+
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,149 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// remembers what each key held when it was last read or written, so an update only sends the fields changed since
+public class TrackingDataVerse<T> extends ForwardingNamespacedDataVerse<T> {
+
+    private final @NotNull TranslationEngine translationEngine;
+    private final @NotNull Map<@NotNull String, @NotNull Map<@NotNull String, @Nullable Object>> snapshots;
+
+    public TrackingDataVerse(final @NotNull NamespacedDataVerse<T> delegate,
+                             final @NotNull String namespace,
+                             final @NotNull Supplier<@NotNull T> instanceSupplier,
+                             final @NotNull TranslationEngine translationEngine,
+                             final int maximumSize) {
+
+        super(delegate, namespace, instanceSupplier);
+        this.translationEngine = translationEngine;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    private @Nullable T remember(String key, @Nullable T value) {
+
+        if (value == null) {
+
+            snapshots.remove(key);
+        } else {
+
+            snapshots.put(key, snapshot(value, translationEngine));
+        }
+        return value;
+    }
+
+    // keys without a known state are written in full the next time
+    private @NotNull CompletableFuture<@NotNull Boolean> remember(String key, Map<String, Object> snapshot, CompletableFuture<Boolean> write) {
+
+        return write.whenComplete((result, e) -> {
+
+            if (e == null && result) {
+
+                snapshots.put(key, snapshot);
+            } else {
+
+                snapshots.remove(key);
+            }
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        return remember(key, snapshot(value, translationEngine), delegate.create(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        return delegate.get(key).thenApply(value -> remember(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        return delegate.getAll(keys).thenApply(values -> {
+
+            values.forEach(this::remember);
+            return values;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        return delegate.getOrCreate(key, value).thenApply(result -> remember(key, result));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        return remember(key, snapshot(value, translationEngine), delegate.createOrUpdate(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        Map<String, Object> after = snapshot(value, translationEngine);
+        Map<String, Object> before = snapshots.get(key);
+        if (before == null) {
+
+            return remember(key, after, delegate.update(key, value));
+        }
+
+        List<FieldSpec> changed = changed(before, after);
+        if (changed.isEmpty()) {
+
+            return delegate.exists(key);
+        }
+        return remember(key, after, delegate.update(key, value, fields(changed)));
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        return delegate.update(key, value, fields).whenComplete((result, e) -> snapshots.remove(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return delegate.increment(key, field, delta).whenComplete((result, e) -> snapshots.remove(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        return remember(key, snapshot(value, translationEngine), delegate.compareAndSet(key, expected, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return delegate.delete(key).whenComplete((result, e) -> snapshots.remove(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return delegate.expire(key, expiry).whenComplete((result, e) -> snapshots.remove(key));
+    }
+}
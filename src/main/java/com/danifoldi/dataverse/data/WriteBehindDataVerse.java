@@ -0,0 +1,225 @@
+package com.danifoldi.dataverse.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// queries other than get see pending updates once they are flushed, and so do leaderboards, which follow the writes that reach the engine
+public class WriteBehindDataVerse<T> extends ForwardingNamespacedDataVerse<T> {
+
+    private final @NotNull Map<@NotNull String, @NotNull Pending<T>> dirty = new ConcurrentHashMap<>();
+    private final @NotNull Map<@NotNull String, @NotNull CompletableFuture<@NotNull Boolean>> writing = new ConcurrentHashMap<>();
+
+    // an update of a missing key writes nothing, so a pending value only stands for the key once the key is known to exist
+    private record Pending<T>(@NotNull T value, @NotNull CompletableFuture<@NotNull Boolean> result, boolean present) {}
+
+    public WriteBehindDataVerse(final @NotNull NamespacedDataVerse<T> delegate,
+                                final @NotNull String namespace,
+                                final @NotNull Supplier<@NotNull T> instanceSupplier) {
+
+        super(delegate, namespace, instanceSupplier);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> create(String key, T value) {
+
+        return flush(key).thenCompose(flushed -> delegate.create(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> exists(String key) {
+
+        Pending<T> pending = dirty.get(key);
+        if (pending != null && pending.present()) {
+
+            return CompletableFuture.completedFuture(true);
+        }
+        return delegate.exists(key).thenApply(exists -> {
+
+            if (exists) {
+
+                confirm(key);
+            }
+            return exists;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable T> get(String key) {
+
+        Pending<T> pending = dirty.get(key);
+        if (pending == null) {
+
+            return delegate.get(key);
+        }
+        if (pending.present()) {
+
+            return CompletableFuture.completedFuture(copy(pending.value()));
+        }
+        return delegate.get(key).thenApply(value -> {
+
+            // the pending value is newer than the stored one, unless it was flushed meanwhile
+            Pending<T> confirmed = value == null ? null : confirm(key);
+            return confirmed == null ? value : copy(confirmed.value());
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull T>> getAll(Collection<String> keys) {
+
+        Map<String, T> pending = new HashMap<>();
+        List<String> stored = new ArrayList<>();
+        for (String key: keys) {
+
+            Pending<T> entry = dirty.get(key);
+            if (entry != null && entry.present()) {
+
+                pending.put(key, copy(entry.value()));
+            } else {
+
+                stored.add(key);
+            }
+        }
+
+        if (stored.isEmpty()) {
+
+            return CompletableFuture.completedFuture(pending);
+        }
+        return delegate.getAll(stored).thenApply(values -> {
+
+            Map<String, T> merged = new HashMap<>(values);
+            for (String key: values.keySet()) {
+
+                Pending<T> confirmed = dirty.containsKey(key) ? confirm(key) : null;
+                if (confirmed != null) {
+
+                    merged.put(key, copy(confirmed.value()));
+                }
+            }
+            merged.putAll(pending);
+            return merged;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull T> getOrCreate(String key, T value) {
+
+        Pending<T> pending = dirty.get(key);
+        if (pending != null && pending.present()) {
+
+            return CompletableFuture.completedFuture(copy(pending.value()));
+        }
+        return flush(key).thenCompose(flushed -> delegate.getOrCreate(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> createOrUpdate(String key, T value) {
+
+        return flush(key).thenCompose(flushed -> delegate.createOrUpdate(key, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value) {
+
+        // repeated updates replace the pending value, every caller gets the result of the write that carries it
+        T snapshot = copy(value);
+        return dirty.compute(key, (k, pending) -> pending == null
+                ? new Pending<>(snapshot, new CompletableFuture<>(), false)
+                : new Pending<>(snapshot, pending.result(), pending.present())).result();
+    }
+
+    // the key was seen in the store, its pending value is what reads of it return until it is flushed
+    private @Nullable Pending<T> confirm(String key) {
+
+        return dirty.computeIfPresent(key, (k, pending) -> pending.present() ? pending : new Pending<>(pending.value(), pending.result(), true));
+    }
+
+    @Override
+    protected @NotNull CompletableFuture<@NotNull Boolean> update(String key, T value, Map<String, FieldSpec> fields) {
+
+        T snapshot = copy(value);
+        return flush(key).thenCompose(flushed -> delegate.update(key, snapshot, fields));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> increment(String key, FieldSpec field, BigDecimal delta) {
+
+        return flush(key).thenCompose(flushed -> delegate.increment(key, field, delta));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> compareAndSet(String key, T expected, T value) {
+
+        return flush(key).thenCompose(flushed -> delegate.compareAndSet(key, expected, value));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(String key) {
+
+        return flush(key).thenCompose(flushed -> delegate.delete(key));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> expire(String key, Instant expiry) {
+
+        return flush(key).thenCompose(flushed -> delegate.expire(key, expiry));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> flush(String key) {
+
+        AtomicReference<Pending<T>> taken = new AtomicReference<>();
+        // a key is written by one flush at a time, so an older value can never land after a newer one
+        CompletableFuture<Boolean> write = writing.compute(key, (k, previous) -> {
+
+            Pending<T> pending = dirty.remove(key);
+            if (pending == null) {
+
+                return previous;
+            }
+
+            taken.set(pending);
+            return (previous == null ? CompletableFuture.completedFuture(true) : previous)
+                    .handle((result, e) -> null)
+                    .thenCompose(ignored -> delegate.update(key, pending.value()));
+        });
+
+        Pending<T> pending = taken.get();
+        if (pending == null) {
+
+            return write == null ? CompletableFuture.completedFuture(true) : write;
+        }
+
+        write.whenComplete((result, e) -> {
+
+            writing.remove(key, write);
+            if (e != null) {
+
+                pending.result().completeExceptionally(e);
+            } else {
+
+                pending.result().complete(result);
+            }
+        });
+        return pending.result();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> flush() {
+
+        List<CompletableFuture<Boolean>> flushes = dirty.keySet().stream().map(this::flush).toList();
+        return CompletableFuture.allOf(flushes.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> flushes.stream().allMatch(CompletableFuture::join));
+    }
+}
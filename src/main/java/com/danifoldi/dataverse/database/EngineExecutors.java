@@ -0,0 +1,160 @@
+package com.danifoldi.dataverse.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class EngineExecutors {
+
+    private static final @Nullable MethodHandle VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutor();
+
+    private final @NotNull ExecutorService readService;
+    private final @NotNull ExecutorService writeService;
+    private final @NotNull Executor reads;
+    private final @NotNull Executor writes;
+    private final @NotNull ScheduledExecutorService ddl;
+
+    public EngineExecutors(final @NotNull String name,
+                           final @NotNull Map<@NotNull String, @NotNull String> config,
+                           final int readThreads,
+                           final int writeThreads) {
+
+        int readLimit = threads(config, "executor_read_threads", readThreads);
+        int writeLimit = threads(config, "executor_write_threads", writeThreads);
+        boolean virtual = Boolean.parseBoolean(config.getOrDefault("executor_virtual_threads", "false"));
+        if (virtual && VIRTUAL_THREAD_EXECUTOR == null) {
+
+            Logger.getLogger("DataVerse").warning("Virtual threads require Java 21 or newer, falling back to pooled executors");
+        }
+
+        if (virtual && VIRTUAL_THREAD_EXECUTOR != null) {
+
+            this.readService = newVirtualThreadExecutor();
+            this.writeService = newVirtualThreadExecutor();
+            // every call gets its own virtual thread, the lane size only caps how many of them hold a connection at once
+            this.reads = bounded(readService, readLimit);
+            this.writes = bounded(writeService, writeLimit);
+        } else {
+
+            this.readService = Executors.newFixedThreadPool(readLimit, threadFactory(name, "Read"));
+            this.writeService = Executors.newFixedThreadPool(writeLimit, threadFactory(name, "Write"));
+            this.reads = readService;
+            this.writes = writeService;
+        }
+        this.ddl = Executors.newScheduledThreadPool(threads(config, "executor_ddl_threads", 1), threadFactory(name, "DDL"));
+    }
+
+    // lanes drawing from one connection pool are split so that every lane thread can hold a connection at the same time
+    public static @NotNull EngineExecutors forSharedPool(final @NotNull String name,
+                                                         final @NotNull Map<@NotNull String, @NotNull String> config,
+                                                         final int poolSize) {
+
+        int writeThreads = Math.max(1, poolSize / 4);
+        return new EngineExecutors(name, config, Math.max(1, poolSize - writeThreads - 1), writeThreads);
+    }
+
+    private static int threads(Map<String, String> config, String key, int aligned) {
+
+        int configured = Integer.parseInt(config.getOrDefault(key, "0"));
+        return Math.max(1, configured > 0 ? configured : aligned);
+    }
+
+    private static @Nullable MethodHandle virtualThreadExecutor() {
+
+        try {
+
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+
+            return null;
+        }
+    }
+
+    private static @NotNull ExecutorService newVirtualThreadExecutor() {
+
+        try {
+
+            return (ExecutorService)VIRTUAL_THREAD_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @NotNull Executor bounded(ExecutorService executor, int permits) {
+
+        Semaphore semaphore = new Semaphore(permits);
+        return task -> executor.execute(() -> {
+
+            semaphore.acquireUninterruptibly();
+            try {
+
+                task.run();
+            } finally {
+
+                semaphore.release();
+            }
+        });
+    }
+
+    private static @NotNull ThreadFactory threadFactory(String name, String lane) {
+
+        AtomicInteger count = new AtomicInteger(1);
+        return runnable -> {
+
+            Thread thread = new Thread(runnable, "DataVerse %s %s #%d".formatted(name, lane, count.getAndIncrement()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public @NotNull Executor reads() {
+
+        return reads;
+    }
+
+    public @NotNull Executor writes() {
+
+        return writes;
+    }
+
+    public @NotNull ScheduledExecutorService ddl() {
+
+        return ddl;
+    }
+
+    public void shutdown() {
+
+        ddl.shutdownNow();
+        readService.shutdown();
+        writeService.shutdown();
+
+        try {
+
+            // queued writes are still flushed before the connections go away
+            if (!writeService.awaitTermination(10, TimeUnit.SECONDS) | !readService.awaitTermination(1, TimeUnit.SECONDS)) {
+
+                writeService.shutdownNow();
+                readService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+
+            writeService.shutdownNow();
+            readService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -8,12 +8,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class TranslationEngine {
 
     private final Map<String, String> javaTypeToMysqlColumn = new ConcurrentHashMap<>();
     private final Map<String, QuadConsumer<PreparedStatement, Integer, FieldSpec, Object>> javaTypeToMysqlQuery = new ConcurrentHashMap<>();
     private final Map<String, QuadConsumer<ResultSet, String, FieldSpec, Object>> mysqlResultToJavaType = new ConcurrentHashMap<>();
+    private final Map<String, Function<Object, String>> javaTypeToString = new ConcurrentHashMap<>();
+    private final Map<String, Function<String, Object>> stringToJavaType = new ConcurrentHashMap<>();
 
     public void addJavaTypeToMysqlColumn(String javaType, String mysqlColumn) {
 
@@ -30,6 +33,16 @@ public class TranslationEngine {
         mysqlResultToJavaType.put(javaType, applier);
     }
 
+    public void addJavaTypeToString(String javaType, Function<Object, String> encoder) {
+
+        javaTypeToString.putIfAbsent(javaType, encoder);
+    }
+
+    public void addStringToJavaType(String javaType, Function<String, Object> decoder) {
+
+        stringToJavaType.put(javaType, decoder);
+    }
+
     public String getMysqlColumn(String javaType) {
 
         return javaTypeToMysqlColumn.get(javaType);
@@ -45,10 +58,22 @@ public class TranslationEngine {
         return mysqlResultToJavaType.get(javaType);
     }
 
+    public Function<Object, String> getJavaTypeToString(String javaType) {
+
+        return javaTypeToString.get(javaType);
+    }
+
+    public Function<String, Object> getStringToJavaType(String javaType) {
+
+        return stringToJavaType.get(javaType);
+    }
+
     public void clear() {
 
         javaTypeToMysqlColumn.clear();
         javaTypeToMysqlQuery.clear();
+        javaTypeToString.clear();
+        stringToJavaType.clear();
     }
 
     public void setupStandard() {
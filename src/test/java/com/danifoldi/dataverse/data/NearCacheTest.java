@@ -0,0 +1,79 @@
+package com.danifoldi.dataverse.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NearCacheTest {
+
+    private final NearCache<String> cache = new NearCache<>(16, Duration.ofMinutes(1), UnaryOperator.identity());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String cached(String key) {
+
+        return cache.get(key, () -> {
+
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("reloaded");
+        }).join();
+    }
+
+    @Test
+    void cachesALoadWhileAnotherKeyIsWritten() {
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> result = cache.get("a", () -> load);
+        cache.invalidate("b");
+        load.complete("loaded");
+
+        assertEquals("loaded", result.join());
+        assertEquals("loaded", cached("a"));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void dropsALoadWhileTheSameKeyIsWritten() {
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> result = cache.get("a", () -> load);
+        cache.invalidate("a");
+        load.complete("stale");
+
+        assertEquals("stale", result.join());
+        assertEquals("reloaded", cached("a"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void dropsEveryLoadWhileCleared() {
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> result = cache.get("a", () -> load);
+        cache.clear();
+        load.complete("stale");
+
+        assertEquals("stale", result.join());
+        assertEquals("reloaded", cached("a"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void keepsTrackOfWritesWithTwoLoadsInFlight() {
+
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        cache.get("a", () -> first);
+        cache.get("a", () -> second);
+        first.complete("first");
+        cache.invalidate("a");
+        second.complete("stale");
+
+        assertEquals("reloaded", cached("a"));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,105 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.dataverse.translation.TranslationEngine;
+import com.google.common.reflect.TypeToken;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("UnstableApiUsage")
+class PageTokenTest {
+
+    enum Tier { BRONZE, GOLD }
+
+    static class Row {
+
+        int kills;
+        String name;
+        UUID id;
+        BigDecimal coins;
+        Tier tier;
+    }
+
+    private static TranslationEngine translationEngine;
+
+    @BeforeAll
+    static void setup() {
+
+        translationEngine = new TranslationEngine();
+        translationEngine.setupStandard();
+    }
+
+    @Test
+    void roundTripsEverySortValue() throws ReflectiveOperationException {
+
+        Row row = new Row();
+        row.kills = -42;
+        row.name = "a name, with \"quotes\" and \u00fcnicode";
+        row.id = UUID.randomUUID();
+        row.coins = new BigDecimal("12345678901234567890.000001");
+        row.tier = Tier.GOLD;
+
+        for (String name: new String[] {"kills", "name", "id", "coins", "tier"}) {
+
+            FieldSpec sortKey = field(name);
+            PageToken token = PageToken.of(sortKey, true, "player:1", row);
+            PageToken decoded = PageToken.decode(token.encode(translationEngine), sortKey, true, translationEngine);
+
+            assertEquals(token, decoded, name);
+            assertEquals(Row.class.getDeclaredField(name).get(row), decoded.value(), name);
+        }
+    }
+
+    @Test
+    void roundTripsWithoutSortKeyOrValue() throws ReflectiveOperationException {
+
+        PageToken unsorted = PageToken.of(null, false, "k", null);
+        assertEquals(unsorted, PageToken.decode(unsorted.encode(translationEngine), null, false, translationEngine));
+
+        FieldSpec name = field("name");
+        PageToken missing = PageToken.of(name, false, "k", new Row());
+        PageToken decoded = PageToken.decode(missing.encode(translationEngine), name, false, translationEngine);
+        assertNull(decoded.value());
+        assertEquals("k", decoded.key());
+    }
+
+    @Test
+    void noTokenStartsFromTheBeginning() throws ReflectiveOperationException {
+
+        assertNull(PageToken.decode(null, field("kills"), false, translationEngine));
+    }
+
+    @Test
+    void rejectsTokensOfAnotherOrder() throws ReflectiveOperationException {
+
+        FieldSpec kills = field("kills");
+        String token = PageToken.of(kills, false, "k", new Row()).encode(translationEngine);
+
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode(token, kills, true, translationEngine));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode(token, field("name"), false, translationEngine));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode(token, null, false, translationEngine));
+    }
+
+    @Test
+    void rejectsMalformedTokens() throws ReflectiveOperationException {
+
+        FieldSpec kills = field("kills");
+
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("not a token", kills, false, translationEngine));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("", kills, false, translationEngine));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("AAAA", kills, false, translationEngine));
+    }
+
+    private static FieldSpec field(String name) throws ReflectiveOperationException {
+
+        java.lang.reflect.Field field = Row.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return new FieldSpec(name, TypeToken.of(field.getType()), field);
+    }
+}
@@ -0,0 +1,113 @@
+package com.danifoldi.dataverse.data;
+
+import com.danifoldi.microbase.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankIndexTest {
+
+    @Test
+    void ordersHighestFirstAndTiesByKey() {
+
+        RankIndex index = new RankIndex();
+        index.put("b", BigDecimal.valueOf(10));
+        index.put("a", BigDecimal.valueOf(10));
+        index.put("c", BigDecimal.valueOf(30));
+        index.put("d", BigDecimal.valueOf(5));
+
+        assertEquals(List.of("c", "a", "b", "d"), keys(index.range(0, 10)));
+        assertEquals(List.of("a", "b"), keys(index.range(1, 3)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void replacesAndRemovesScores() {
+
+        RankIndex index = new RankIndex();
+        index.put("a", BigDecimal.ONE);
+        index.put("b", BigDecimal.TEN);
+        index.put("a", BigDecimal.valueOf(100));
+
+        assertEquals(List.of("a", "b"), keys(index.range(0, 10)));
+        assertEquals(BigDecimal.valueOf(100), index.score("a"));
+
+        index.put("a", null);
+        assertNull(index.score("a"));
+        assertEquals(List.of("b"), keys(index.range(0, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void countsScoresAboveForSharedRanks() {
+
+        RankIndex index = new RankIndex();
+        index.put("a", BigDecimal.valueOf(50));
+        index.put("b", BigDecimal.valueOf(40));
+        index.put("c", BigDecimal.valueOf(40));
+        index.put("d", BigDecimal.valueOf(10));
+
+        assertEquals(0, index.above(BigDecimal.valueOf(50)));
+        assertEquals(1, index.above(BigDecimal.valueOf(40)));
+        assertEquals(3, index.above(BigDecimal.valueOf(10)));
+    }
+
+    @Test
+    void emptyRangesOutsideTheIndex() {
+
+        RankIndex index = new RankIndex();
+        index.put("a", BigDecimal.ONE);
+
+        assertTrue(index.range(1, 5).isEmpty());
+        assertTrue(index.range(3, 2).isEmpty());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.range(0, 5).isEmpty());
+    }
+
+    @Test
+    void agreesWithSortingAfterRandomWrites() {
+
+        RankIndex index = new RankIndex();
+        Map<String, BigDecimal> scores = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+
+            String key = "k" + random.nextInt(300);
+            BigDecimal score = random.nextInt(4) == 0 ? null : BigDecimal.valueOf(random.nextInt(50));
+            index.put(key, score);
+            if (score == null) {
+
+                scores.remove(key);
+            } else {
+
+                scores.put(key, score);
+            }
+        }
+
+        List<Map.Entry<String, BigDecimal>> expected = new ArrayList<>(scores.entrySet());
+        expected.sort(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        assertEquals(expected.stream().map(Map.Entry::getKey).toList(), keys(index.range(0, scores.size())));
+        for (Map.Entry<String, BigDecimal> entry: expected) {
+
+            long above = scores.values().stream().filter(score -> score.compareTo(entry.getValue()) > 0).count();
+            assertEquals(above, index.above(entry.getValue()));
+        }
+    }
+
+    private static List<String> keys(List<Pair<String, BigDecimal>> entries) {
+
+        return entries.stream().map(Pair::getFirst).toList();
+    }
+}